@@ -1,21 +1,149 @@
 package com.selenium.test.pages;
 
+import com.selenium.test.utils.AdaptiveWait;
 import org.openqa.selenium.*;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
-import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 
 /**
  * BasePage serves as a foundational class for all page objects in the Selenium framework.
  * It provides essential utilities for waiting on elements, interacting with web elements,
  * and retrieving page information, thereby promoting a streamlined approach to UI automation.
+ *
+ * Waits poll adaptively and record their latency per page and condition
+ * (see AdaptiveWait and WaitStatistics); the default timeout of a page can be
+ * tuned with e.g. -Dwaits.CartPage.timeoutSeconds=5.
+ *
+ * Pages with lists read their state through snapshot, which collects the fields of
+ * a page region in a single executeScript call instead of one WebDriver command
+ * per element and per getText.
+ *
+ * Navigation is awaited with awaitNavigation instead of fixed sleeps: it completes as soon
+ * as the document has loaded and either the URL changed or the target page is ready.
+ *
+ * Element fields are initialized once by this constructor through PageElements, which
+ * reads the locators of each page class only once; see PageElements for element caching.
+ *
+ * Forms are filled with sendKeys by default. In SCRIPT fill mode (-Dforms.fillMode=script,
+ * or per page e.g. -Dforms.RegisterPage.fillMode=script) all fields of a form are set in
+ * one scripted call that fires input and change events, and the values are read back to verify them.
  */
 public class BasePage {
+    private static final Logger logger = LoggerFactory.getLogger(BasePage.class);
     protected final WebDriver driver;
-    protected final WebDriverWait wait;
-    private static final int TIMEOUT = 10;
+    protected final AdaptiveWait wait;
     protected static final String BASE_URL = "https://www.saucedemo.com";
+    private FillMode fillMode;
+
+    /**
+     * How form fields are filled
+     */
+    public enum FillMode {
+        /** Type with sendKeys, exercising keystroke handling (default) */
+        KEYS,
+        /** Set all values in one script call and fire input/change events */
+        SCRIPT
+    }
+
+    /**
+     * A form field to fill: the selector is used in SCRIPT mode, the element in KEYS mode
+     */
+    protected static final class FormField {
+        private final String selector;
+        private final WebElement element;
+        private final String value;
+
+        private FormField(String selector, WebElement element, String value) {
+            this.selector = selector;
+            this.element = element;
+            this.value = value == null ? "" : value;
+        }
+    }
+
+    /**
+     * Fills form fields if all of them are present, visible and editable, else returns null.
+     * Values are set through the native value setter so frameworks tracking the value
+     * (e.g. React) see the change, then input, change and blur events are fired as typing would.
+     * Arguments: field selectors, values. Result: values read back from the fields.
+     */
+    private static final String FILL_SCRIPT =
+            "var selectors = arguments[0], values = arguments[1], fields = [];"
+            + "for (var i = 0; i < selectors.length; i++) {"
+            + "  var el = document.querySelector(selectors[i]);"
+            + "  if (!el || el.disabled || el.readOnly"
+            + "      || !(el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0)) {"
+            + "    return null;"
+            + "  }"
+            + "  fields.push(el);"
+            + "}"
+            + "for (var i = 0; i < fields.length; i++) {"
+            + "  var el = fields[i];"
+            + "  var descriptor = Object.getOwnPropertyDescriptor(Object.getPrototypeOf(el), 'value');"
+            + "  el.focus();"
+            + "  if (descriptor && descriptor.set) { descriptor.set.call(el, values[i]); }"
+            + "  else { el.value = values[i]; }"
+            + "  el.dispatchEvent(new Event('input', {bubbles: true}));"
+            + "  el.dispatchEvent(new Event('change', {bubbles: true}));"
+            + "  el.blur();"
+            + "}"
+            + "var readBack = [];"
+            + "for (var i = 0; i < fields.length; i++) { readBack.push(fields[i].value); }"
+            + "return readBack;";
+
+    /**
+     * Reads a page region in one round trip.
+     * Arguments: item selector (or null), item field selectors by name, element selectors by name.
+     * Result: {items: [{text, visible, fields: {name: text}}], elements: {name: {present, visible, enabled, text}}}
+     * Text is only read from visible elements, like WebElement.getText.
+     */
+    private static final String SNAPSHOT_SCRIPT =
+            "var itemSelector = arguments[0], itemFields = arguments[1] || {}, elements = arguments[2] || {};"
+            + "function visible(el) {"
+            + "  if (!el) { return false; }"
+            + "  var style = window.getComputedStyle(el);"
+            + "  return style.visibility !== 'hidden' && style.display !== 'none'"
+            + "      && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0);"
+            + "}"
+            + "function text(el) { return visible(el) ? (el.innerText || el.textContent || '').trim() : ''; }"
+            + "var result = {items: [], elements: {}};"
+            + "if (itemSelector) {"
+            + "  var items = document.querySelectorAll(itemSelector);"
+            + "  for (var i = 0; i < items.length; i++) {"
+            + "    var fields = {};"
+            + "    for (var field in itemFields) { fields[field] = text(items[i].querySelector(itemFields[field])); }"
+            + "    result.items.push({text: text(items[i]), visible: visible(items[i]), fields: fields});"
+            + "  }"
+            + "}"
+            + "for (var name in elements) {"
+            + "  var el = document.querySelector(elements[name]);"
+            + "  result.elements[name] = {present: !!el, visible: visible(el), enabled: !!el && !el.disabled,"
+            + "      text: text(el)};"
+            + "}"
+            + "return result;";
+
+    /**
+     * Reads the navigation state in one round trip.
+     * Arguments: CSS selectors of which any visible one means the target page is ready.
+     * Result: [URL, document.readyState, whether a ready selector matched a visible element]
+     */
+    private static final String NAVIGATION_SCRIPT =
+            "var ready = false;"
+            + "for (var i = 0; i < arguments[0].length && !ready; i++) {"
+            + "  var el = document.querySelector(arguments[0][i]);"
+            + "  ready = !!el && (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0);"
+            + "}"
+            + "return [location.href, document.readyState, ready];";
 
     /**
      * Constructor for BasePage
@@ -23,8 +151,141 @@ public class BasePage {
      */
     public BasePage(WebDriver driver) {
         this.driver = driver;
-        this.wait = new WebDriverWait(driver, Duration.ofSeconds(TIMEOUT));
-        PageFactory.initElements(driver, this);
+        this.wait = AdaptiveWait.forPage(driver, getClass());
+        // Initializes the fields of the subclass too; subclasses must not initialize them again
+        PageElements.initElements(driver, this);
+    }
+
+    /**
+     * Waits for a condition, recording its latency under the given name
+     * @param conditionName Name of the condition in the wait statistics, e.g. "visible"
+     * @param condition Condition returning a non-null, non-false value when met
+     * @param timeoutSeconds Seconds to wait before failing
+     * @return Value returned by the condition
+     */
+    protected <V> V waitUntil(String conditionName, Function<? super WebDriver, V> condition, int timeoutSeconds) {
+        return wait.until(conditionName, condition, Duration.ofSeconds(timeoutSeconds));
+    }
+
+    /**
+     * Gets how this page fills forms
+     * @return Fill mode set on this page, else from forms.PageName.fillMode or forms.fillMode (default KEYS)
+     */
+    public FillMode getFillMode() {
+        if (fillMode == null) {
+            String mode = System.getProperty("forms." + getClass().getSimpleName() + ".fillMode",
+                    System.getProperty("forms.fillMode", FillMode.KEYS.name()));
+            fillMode = FillMode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        }
+        return fillMode;
+    }
+
+    /**
+     * Sets how this page fills forms, e.g. SCRIPT for high-volume data runs
+     * @param fillMode Fill mode
+     */
+    public void setFillMode(FillMode fillMode) {
+        this.fillMode = Objects.requireNonNull(fillMode, "fillMode");
+    }
+
+    /**
+     * Describes a form field for fillForm
+     * @param locator Locator the element was found with; its CSS form is used in SCRIPT mode
+     * @param element WebElement of the field, used in KEYS mode
+     * @param value Value to enter
+     * @return Form field
+     */
+    protected static FormField field(By locator, WebElement element, String value) {
+        return new FormField(cssSelector(locator), element, value);
+    }
+
+    /**
+     * Converts an id, name or CSS locator to the CSS selector scripts use
+     * @param locator Locator, e.g. By.id("user-name")
+     * @return CSS selector, e.g. [id="user-name"]
+     * @throws IllegalArgumentException for locators without a CSS form, e.g. XPath
+     */
+    protected static String cssSelector(By locator) {
+        if (locator instanceof By.Remotable) {
+            By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+            String value = String.valueOf(parameters.value());
+            switch (parameters.using()) {
+                case "css selector":
+                    return value;
+                case "id":
+                case "name":
+                    String quoted = value.replace("\\", "\\\\").replace("\"", "\\\"");
+                    return "[" + parameters.using() + "=\"" + quoted + "\"]";
+                default:
+                    break;
+            }
+        }
+        throw new IllegalArgumentException("Locator has no CSS form: " + locator);
+    }
+
+    /**
+     * Fills form fields in the page's fill mode.
+     * KEYS types into each field in turn. SCRIPT waits until all fields are editable, sets
+     * them in one call and types again into any field whose read-back value differs
+     * (e.g. because of a maxlength or an input mask).
+     * @param fields Fields in the order a user would fill them
+     */
+    protected void fillForm(FormField... fields) {
+        if (getFillMode() == FillMode.KEYS) {
+            for (FormField field : fields) {
+                type(field.element, field.value);
+            }
+            return;
+        }
+
+        List<String> selectors = new ArrayList<>(fields.length);
+        List<String> values = new ArrayList<>(fields.length);
+        for (FormField field : fields) {
+            selectors.add(field.selector);
+            values.add(field.value);
+        }
+        List<?> readBack = wait.until("formFilled",
+                d -> (List<?>) ((JavascriptExecutor) d).executeScript(FILL_SCRIPT, selectors, values),
+                wait.getTimeout());
+        for (int i = 0; i < fields.length; i++) {
+            Object actual = i < readBack.size() ? readBack.get(i) : null;
+            if (!fields[i].value.equals(actual)) {
+                logger.warn("Scripted fill of '{}' read back a different value; typing it instead",
+                        fields[i].selector);
+                type(fields[i].element, fields[i].value);
+            }
+        }
+    }
+
+    /**
+     * Reads the state of a page region in a single executeScript call
+     * @param itemSelector CSS selector of list items, or null to read no list
+     * @param itemFields CSS selectors of fields within each item by name, e.g. "price"
+     * @param elements CSS selectors of single elements by name
+     * @return Map with "items" (text, visible and fields of each item) and "elements"
+     *         (present, visible, enabled and text of each element)
+     */
+    @SuppressWarnings("unchecked")
+    protected Map<String, Object> snapshot(String itemSelector, Map<String, String> itemFields,
+            Map<String, String> elements) {
+        return (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(SNAPSHOT_SCRIPT, itemSelector,
+                itemFields, elements);
+    }
+
+    /**
+     * Reads page state until it satisfies a condition, one round trip per poll
+     * @param conditionName Name of the condition in the wait statistics
+     * @param read Reads the page state, e.g. through snapshot
+     * @param ready Condition the state must satisfy
+     * @param timeoutSeconds Seconds to wait before failing
+     * @return First state satisfying the condition
+     */
+    protected <T> T waitForState(String conditionName, Supplier<T> read, Predicate<? super T> ready,
+            int timeoutSeconds) {
+        return waitUntil(conditionName, d -> {
+            T state = read.get();
+            return ready.test(state) ? state : null;
+        }, timeoutSeconds);
     }
 
     /**
@@ -32,7 +293,16 @@ public class BasePage {
      * @param element WebElement to wait for
      */
     protected void waitForElementVisible(WebElement element) {
-        wait.until(ExpectedConditions.visibilityOf(element));
+        wait.until("visible", ExpectedConditions.visibilityOf(element), wait.getTimeout());
+    }
+
+    /**
+     * Waits for an element to be visible
+     * @param element WebElement to wait for
+     * @param timeoutSeconds Seconds to wait before failing
+     */
+    protected void waitForElementToBeVisible(WebElement element, int timeoutSeconds) {
+        waitUntil("visible", ExpectedConditions.visibilityOf(element), timeoutSeconds);
     }
 
     /**
@@ -40,7 +310,16 @@ public class BasePage {
      * @param element WebElement to wait for
      */
     protected void waitForElementClickable(WebElement element) {
-        wait.until(ExpectedConditions.elementToBeClickable(element));
+        wait.until("clickable", ExpectedConditions.elementToBeClickable(element), wait.getTimeout());
+    }
+
+    /**
+     * Waits for an element to be clickable
+     * @param element WebElement to wait for
+     * @param timeoutSeconds Seconds to wait before failing
+     */
+    protected void waitForElementToBeClickable(WebElement element, int timeoutSeconds) {
+        waitUntil("clickable", ExpectedConditions.elementToBeClickable(element), timeoutSeconds);
     }
 
     /**
@@ -96,6 +375,53 @@ public class BasePage {
         }
     }
 
+    /**
+     * Navigates to a URL and waits until the document has loaded
+     * @param url URL to open
+     * @return true if the page loaded within the page's default timeout
+     */
+    public boolean navigateTo(String url) {
+        driver.navigate().to(url);
+        // The URL may not change (e.g. reopening the current page), so only wait for the document
+        return awaitNavigation(null, (int) wait.getTimeout().getSeconds());
+    }
+
+    /**
+     * Waits until a navigation has completed: the document has loaded and either the URL
+     * differs from previousUrl or one of the ready selectors matches a visible element.
+     * Each poll is a single round trip.
+     * @param previousUrl URL before the navigation, or null to only wait for the document to load
+     * @param timeoutSeconds Seconds to wait at most
+     * @param readySelectors CSS selectors of elements showing that the target page is ready
+     * @return true if the navigation completed in time, false on timeout
+     */
+    public boolean awaitNavigation(String previousUrl, int timeoutSeconds, String... readySelectors) {
+        List<String> selectors = Arrays.asList(readySelectors);
+        return awaitNavigation(timeoutSeconds, d -> {
+            List<?> state = (List<?>) ((JavascriptExecutor) d).executeScript(NAVIGATION_SCRIPT, selectors);
+            return "complete".equals(state.get(1))
+                    && (previousUrl == null || !previousUrl.equals(state.get(0)) || Boolean.TRUE.equals(state.get(2)));
+        });
+    }
+
+    /**
+     * Waits until a page-specific readiness condition holds, e.g. after a navigation
+     * that may or may not change the URL
+     * @param timeoutSeconds Seconds to wait at most
+     * @param ready Condition showing that the navigation has completed
+     * @return true if the condition held in time, false on timeout
+     */
+    protected boolean awaitNavigation(int timeoutSeconds, Predicate<? super WebDriver> ready) {
+        try {
+            waitUntil("navigation", d -> ready.test(d) ? Boolean.TRUE : null, timeoutSeconds);
+            return true;
+        } catch (TimeoutException e) {
+            logger.warn("Navigation did not complete within {} s, now at {}", timeoutSeconds,
+                    driver.getCurrentUrl());
+            return false;
+        }
+    }
+
     /**
      * Gets the current page URL
      * @return Current page URL
@@ -4,11 +4,13 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Page Object Model for Cart/Checkout page
  * Handles all interactions related to shopping cart and checkout functionality
@@ -16,6 +18,20 @@ import org.slf4j.LoggerFactory;
 public class CartPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(CartPage.class);
 
+    // Locators of the cart state snapshot (cart items and total are only read through it)
+    private static final String CART_ITEM_SELECTOR = ".cart-item";
+    private static final Map<String, String> CART_ITEM_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, String> CART_ELEMENTS = new LinkedHashMap<>();
+
+    static {
+        CART_ITEM_FIELDS.put("name", "[class*='name']");
+        CART_ITEM_FIELDS.put("price", "[class*='price']");
+        CART_ELEMENTS.put("total", "#cart-total");
+        CART_ELEMENTS.put("checkoutButton", "#checkout-btn");
+        CART_ELEMENTS.put("errorMessage", ".error-message");
+        CART_ELEMENTS.put("loginRedirectMessage", "#login-redirect-message");
+    }
+
     // Locators for Cart Page
     @FindBy(id = "checkout-btn")
     private WebElement checkoutButton;
@@ -23,12 +39,6 @@ public class CartPage extends BasePage {
     @FindBy(id = "cart-items")
     private WebElement cartItemsContainer;
 
-    @FindBy(css = ".cart-item")
-    private java.util.List<WebElement> cartItems;
-
-    @FindBy(id = "cart-total")
-    private WebElement cartTotal;
-
     @FindBy(css = ".error-message")
     private WebElement errorMessage;
 
@@ -47,7 +57,14 @@ public class CartPage extends BasePage {
      */
     public CartPage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(driver, this);
+    }
+
+    /**
+     * Reads the cart items, total and messages in a single round trip
+     * @return immutable cart state
+     */
+    public CartState getCartState() {
+        return new CartState(snapshot(CART_ITEM_SELECTOR, CART_ITEM_FIELDS, CART_ELEMENTS));
     }
 
     /**
@@ -119,7 +136,7 @@ public class CartPage extends BasePage {
      */
     public int getCartItemCount() {
         try {
-            int count = cartItems.size();
+            int count = getCartState().getItemCount();
             logger.info("Cart contains " + count + " items");
             return count;
         } catch (Exception e) {
@@ -142,8 +159,8 @@ public class CartPage extends BasePage {
      */
     public String getCartTotal() {
         try {
-            waitForElementToBeVisible(cartTotal, 10);
-            String total = cartTotal.getText();
+            String total = waitForState("totalVisible", this::getCartState, state -> state.getTotal().isVisible(), 10)
+                    .getTotal().getText();
             logger.info("Cart total: " + total);
             return total;
         } catch (Exception e) {
@@ -217,8 +234,9 @@ public class CartPage extends BasePage {
      */
     public String getFirstCartItemName() {
         try {
-            if (cartItems.size() > 0) {
-                String itemName = cartItems.get(0).getText();
+            CartState state = getCartState();
+            if (state.getItemCount() > 0) {
+                String itemName = state.getItems().get(0).getText();
                 logger.info("First cart item name: " + itemName);
                 return itemName;
             }
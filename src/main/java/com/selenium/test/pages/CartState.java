@@ -0,0 +1,59 @@
+package com.selenium.test.pages;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CartState is an immutable snapshot of the cart page, read in one round trip
+ * (see CartPage.getCartState).
+ */
+public final class CartState {
+    private final List<ItemState> items;
+    private final ElementState total;
+    private final ElementState checkoutButton;
+    private final ElementState errorMessage;
+    private final ElementState loginRedirectMessage;
+
+    CartState(Map<String, Object> snapshot) {
+        this.items = ItemState.listFrom((List<?>) snapshot.get("items"));
+        Map<?, ?> elements = (Map<?, ?>) snapshot.get("elements");
+        this.total = ElementState.from((Map<?, ?>) elements.get("total"));
+        this.checkoutButton = ElementState.from((Map<?, ?>) elements.get("checkoutButton"));
+        this.errorMessage = ElementState.from((Map<?, ?>) elements.get("errorMessage"));
+        this.loginRedirectMessage = ElementState.from((Map<?, ?>) elements.get("loginRedirectMessage"));
+    }
+
+    /**
+     * Gets the items in the cart
+     *
+     * @return Items in page order
+     */
+    public List<ItemState> getItems() {
+        return items;
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    public ElementState getTotal() {
+        return total;
+    }
+
+    public ElementState getCheckoutButton() {
+        return checkoutButton;
+    }
+
+    public ElementState getErrorMessage() {
+        return errorMessage;
+    }
+
+    public ElementState getLoginRedirectMessage() {
+        return loginRedirectMessage;
+    }
+
+    @Override
+    public String toString() {
+        return "cart with " + items.size() + " items, total " + total;
+    }
+}
@@ -0,0 +1,64 @@
+package com.selenium.test.pages;
+
+import java.util.Map;
+
+/**
+ * ElementState holds the state of one element read in a page snapshot (see BasePage.snapshot).
+ * Instances are immutable; they describe the page at the time of the snapshot.
+ */
+public final class ElementState {
+    static final ElementState ABSENT = new ElementState(false, false, false, "");
+
+    private final boolean present;
+    private final boolean visible;
+    private final boolean enabled;
+    private final String text;
+
+    private ElementState(boolean present, boolean visible, boolean enabled, String text) {
+        this.present = present;
+        this.visible = visible;
+        this.enabled = enabled;
+        this.text = text;
+    }
+
+    /**
+     * Creates the state of an element from its snapshot entry
+     *
+     * @param values Entry with present, visible, enabled and text, or null if the element was not read
+     * @return Element state
+     */
+    static ElementState from(Map<?, ?> values) {
+        if (values == null || !Boolean.TRUE.equals(values.get("present"))) {
+            return ABSENT;
+        }
+        Object text = values.get("text");
+        return new ElementState(true, Boolean.TRUE.equals(values.get("visible")),
+                Boolean.TRUE.equals(values.get("enabled")), text == null ? "" : text.toString());
+    }
+
+    public boolean isPresent() {
+        return present;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Gets the visible text of the element
+     *
+     * @return Text, empty if the element is absent or hidden
+     */
+    public String getText() {
+        return text;
+    }
+
+    @Override
+    public String toString() {
+        return present ? (visible ? "visible" : "hidden") + " '" + text + "'" : "absent";
+    }
+}
@@ -4,11 +4,12 @@ import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import org.openqa.selenium.support.PageFactory;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Page Object Model for Inventory page
@@ -17,22 +18,36 @@ import java.util.List;
 public class InventoryPage extends BasePage {
     private static final Logger logger = LoggerFactory.getLogger(InventoryPage.class);
 
+    private static final int NAVIGATION_TIMEOUT_SECONDS = 10;
+
+    // Any of these visible means a direct checkout request has been answered (checkout page,
+    // login redirect or error), even if the URL stays the same
+    private static final String[] CHECKOUT_OUTCOME_SELECTORS = {
+            LoginPage.LOGIN_FORM_SELECTOR, "#checkout-btn", ".error-message", "#login-redirect-message" };
+
+    // Locators of the inventory state snapshot (products are only read through it)
+    private static final String INVENTORY_ITEM_SELECTOR = ".inventory-item";
+    private static final Map<String, String> INVENTORY_ITEM_FIELDS = new LinkedHashMap<>();
+    private static final Map<String, String> INVENTORY_ELEMENTS = new LinkedHashMap<>();
+
+    static {
+        INVENTORY_ITEM_FIELDS.put("name", "[class*='name']");
+        INVENTORY_ITEM_FIELDS.put("price", "[class*='price']");
+        INVENTORY_ELEMENTS.put("container", "#inventory-container");
+        INVENTORY_ELEMENTS.put("cartBadge", ".cart-badge");
+        INVENTORY_ELEMENTS.put("userGreeting", "#user-greeting");
+    }
+
     // Locators for Inventory Page
     @FindBy(id = "inventory-container")
     private WebElement inventoryContainer;
 
-    @FindBy(css = ".inventory-item")
-    private List<WebElement> inventoryItems;
-
     @FindBy(xpath = "//button[contains(text(), 'Add to Cart')]")
     private List<WebElement> addToCartButtons;
 
     @FindBy(id = "cart-link")
     private WebElement cartLink;
 
-    @FindBy(css = ".cart-badge")
-    private WebElement cartBadge;
-
     @FindBy(id = "logout-btn")
     private WebElement logoutButton;
 
@@ -48,7 +63,14 @@ public class InventoryPage extends BasePage {
      */
     public InventoryPage(WebDriver driver) {
         super(driver);
-        PageFactory.initElements(driver, this);
+    }
+
+    /**
+     * Reads the products, cart badge and greeting in a single round trip
+     * @return immutable inventory state
+     */
+    public InventoryState getInventoryState() {
+        return new InventoryState(snapshot(INVENTORY_ITEM_SELECTOR, INVENTORY_ITEM_FIELDS, INVENTORY_ELEMENTS));
     }
 
     /**
@@ -99,17 +121,23 @@ public class InventoryPage extends BasePage {
 
     /**
      * Try to access checkout directly without logging in
-     * Navigate to checkout URL directly
+     * Navigate to checkout URL directly and wait until the app has either redirected
+     * away from it or rendered the checkout page, the login form or an error
+     * @return true if the navigation completed within the timeout
      */
-    public void accessCheckoutDirectly() {
+    public boolean accessCheckoutDirectly() {
         try {
             logger.info("Attempting to access checkout directly");
             String baseUrl = driver.getCurrentUrl();
             String checkoutUrl = baseUrl.replaceAll("(inventory|products|home).*", "checkout");
             driver.navigate().to(checkoutUrl);
-            logger.info("Attempted to access checkout URL directly: " + checkoutUrl);
+            boolean completed = awaitNavigation(checkoutUrl, NAVIGATION_TIMEOUT_SECONDS, CHECKOUT_OUTCOME_SELECTORS);
+            logger.info("Attempted to access checkout URL directly: " + checkoutUrl + ", now at "
+                    + driver.getCurrentUrl());
+            return completed;
         } catch (Exception e) {
             logger.error("Failed to access checkout directly: " + e.getMessage());
+            return false;
         }
     }
 
@@ -119,8 +147,7 @@ public class InventoryPage extends BasePage {
      */
     public int getCartItemCount() {
         try {
-            String cartCount = cartBadge.getText();
-            int count = Integer.parseInt(cartCount);
+            int count = getInventoryState().getCartBadgeCount();
             logger.info("Cart contains " + count + " items");
             return count;
         } catch (Exception e) {
@@ -135,7 +162,7 @@ public class InventoryPage extends BasePage {
      */
     public int getInventoryItemCount() {
         try {
-            int count = inventoryItems.size();
+            int count = getInventoryState().getItemCount();
             logger.info("Inventory has " + count + " items");
             return count;
         } catch (Exception e) {
@@ -174,16 +201,24 @@ public class InventoryPage extends BasePage {
     }
 
     /**
-     * Logout from the application
+     * Logout from the application and wait until the app has left the page or shows the login form
+     * @return true if the logout completed, false if it failed or timed out
      */
-    public void logout() {
+    public boolean logout() {
         try {
             logger.info("Logging out from application");
             waitForElementToBeClickable(logoutButton, 10);
+            String previousUrl = driver.getCurrentUrl();
             logoutButton.click();
+            if (!awaitNavigation(previousUrl, NAVIGATION_TIMEOUT_SECONDS, LoginPage.LOGIN_FORM_SELECTOR)) {
+                logger.error("Logout did not complete within " + NAVIGATION_TIMEOUT_SECONDS + " s");
+                return false;
+            }
             logger.info("Logged out successfully");
+            return true;
         } catch (Exception e) {
             logger.error("Failed to logout: " + e.getMessage());
+            return false;
         }
     }
 
@@ -194,8 +229,9 @@ public class InventoryPage extends BasePage {
      */
     public String getProductName(int index) {
         try {
-            if (index >= 0 && index < inventoryItems.size()) {
-                String name = inventoryItems.get(index).getText();
+            List<ItemState> items = getInventoryState().getItems();
+            if (index >= 0 && index < items.size()) {
+                String name = items.get(index).getText();
                 logger.info("Product name at index " + index + ": " + name);
                 return name;
             }
@@ -0,0 +1,66 @@
+package com.selenium.test.pages;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InventoryState is an immutable snapshot of the inventory page, read in one round trip
+ * (see InventoryPage.getInventoryState).
+ */
+public final class InventoryState {
+    private final List<ItemState> items;
+    private final ElementState container;
+    private final ElementState cartBadge;
+    private final ElementState userGreeting;
+
+    InventoryState(Map<String, Object> snapshot) {
+        this.items = ItemState.listFrom((List<?>) snapshot.get("items"));
+        Map<?, ?> elements = (Map<?, ?>) snapshot.get("elements");
+        this.container = ElementState.from((Map<?, ?>) elements.get("container"));
+        this.cartBadge = ElementState.from((Map<?, ?>) elements.get("cartBadge"));
+        this.userGreeting = ElementState.from((Map<?, ?>) elements.get("userGreeting"));
+    }
+
+    /**
+     * Gets the products on the page
+     *
+     * @return Products in page order
+     */
+    public List<ItemState> getItems() {
+        return items;
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    public ElementState getContainer() {
+        return container;
+    }
+
+    public ElementState getCartBadge() {
+        return cartBadge;
+    }
+
+    /**
+     * Gets the number shown on the cart badge
+     *
+     * @return Cart item count, 0 if the badge is hidden or not a number
+     */
+    public int getCartBadgeCount() {
+        try {
+            return cartBadge.isVisible() ? Integer.parseInt(cartBadge.getText().trim()) : 0;
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    public ElementState getUserGreeting() {
+        return userGreeting;
+    }
+
+    @Override
+    public String toString() {
+        return "inventory with " + items.size() + " items, cart badge " + cartBadge;
+    }
+}
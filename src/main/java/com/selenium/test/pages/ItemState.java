@@ -0,0 +1,87 @@
+package com.selenium.test.pages;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ItemState holds one entry of a product list (cart or inventory) read in a page snapshot.
+ * Instances are immutable.
+ */
+public final class ItemState {
+    private final String text;
+    private final boolean visible;
+    private final Map<String, String> fields;
+
+    private ItemState(String text, boolean visible, Map<String, String> fields) {
+        this.text = text;
+        this.visible = visible;
+        this.fields = fields;
+    }
+
+    /**
+     * Creates the states of list items from the items of a snapshot
+     *
+     * @param items Item entries with text, visible and fields, or null if no items were read
+     * @return Item states in page order
+     */
+    static List<ItemState> listFrom(List<?> items) {
+        if (items == null || items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        ItemState[] states = new ItemState[items.size()];
+        for (int i = 0; i < states.length; i++) {
+            Map<?, ?> item = (Map<?, ?>) items.get(i);
+            Map<String, String> fields = new LinkedHashMap<>();
+            Object values = item.get("fields");
+            if (values instanceof Map) {
+                for (Map.Entry<?, ?> field : ((Map<?, ?>) values).entrySet()) {
+                    fields.put(field.getKey().toString(), field.getValue() == null ? "" : field.getValue().toString());
+                }
+            }
+            Object text = item.get("text");
+            states[i] = new ItemState(text == null ? "" : text.toString(), Boolean.TRUE.equals(item.get("visible")),
+                    Collections.unmodifiableMap(fields));
+        }
+        return Collections.unmodifiableList(Arrays.asList(states));
+    }
+
+    /**
+     * Gets the visible text of the whole item, as WebElement.getText would
+     *
+     * @return Item text
+     */
+    public String getText() {
+        return text;
+    }
+
+    public boolean isVisible() {
+        return visible;
+    }
+
+    /**
+     * Gets the item name
+     *
+     * @return Text of the name element, or the item text if the item has no name element
+     */
+    public String getName() {
+        String name = fields.get("name");
+        return name == null || name.isEmpty() ? text : name;
+    }
+
+    /**
+     * Gets the item price as displayed, e.g. "$29.99"
+     *
+     * @return Text of the price element, empty if the item has no price element
+     */
+    public String getPrice() {
+        return fields.getOrDefault("price", "");
+    }
+
+    @Override
+    public String toString() {
+        return getName() + (getPrice().isEmpty() ? "" : " " + getPrice());
+    }
+}
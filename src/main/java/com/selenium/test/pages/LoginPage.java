@@ -1,5 +1,8 @@
 package com.selenium.test.pages;
 
+import com.selenium.test.utils.SessionState;
+import com.selenium.test.utils.SessionStore;
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -12,14 +15,23 @@ import org.openqa.selenium.support.FindBy;
  * 3. Page validations - Methods to verify page state
  */
 public class LoginPage extends BasePage {
+    // Element ids used by both @FindBy and the scripted fill, so the two cannot drift apart
+    private static final String USERNAME_ID = "user-name";
+    private static final String PASSWORD_ID = "password";
+    private static final String LOGIN_BUTTON_ID = "login-button";
+
+    // Visible once the login form has rendered, e.g. after a redirect to the login page
+    static final String LOGIN_FORM_SELECTOR = cssSelector(By.id(LOGIN_BUTTON_ID));
+    private static final int SESSION_TIMEOUT_SECONDS = 10;
+
     // Page elements using @FindBy for maintainable element location
-    @FindBy(id = "user-name")
+    @FindBy(id = USERNAME_ID)
     private WebElement usernameField;
 
-    @FindBy(id = "password")
+    @FindBy(id = PASSWORD_ID)
     private WebElement passwordField;
 
-    @FindBy(id = "login-button")
+    @FindBy(id = LOGIN_BUTTON_ID)
     private WebElement loginButton;
 
     @FindBy(css = "[data-test='error']")
@@ -35,17 +47,55 @@ public class LoginPage extends BasePage {
     }
 
     /**
-     * Performs login with username and password
+     * Performs login with username and password.
+     * Fields are typed with sendKeys unless the page is in SCRIPT fill mode (see BasePage.setFillMode).
      * 
      * @param username Username for login
      * @param password Password for login
      */
     public void login(String username, String password) {
-        enterUsername(username);
-        enterPassword(password);
+        fillForm(field(By.id(USERNAME_ID), usernameField, username),
+                field(By.id(PASSWORD_ID), passwordField, password));
         clickLoginButton();
     }
 
+    /**
+     * Logs in for tests that need an authenticated user but do not test the login form.
+     * The first call per user in a pooled browser logs in through the form and captures the
+     * session (cookies and local storage); later calls restore it directly into the browser
+     * and open the target page. A restored session the app rejects is discarded and
+     * replaced by a new form login.
+     * 
+     * @param username Username for login
+     * @param password Password for login
+     * @param targetPath Page to open once logged in, e.g. "/inventory.html"
+     * @return true if a captured session was restored, false if the form was used
+     */
+    public boolean loginWithSession(String username, String password, String targetPath) {
+        String targetUrl = BASE_URL + targetPath;
+        SessionState session = SessionStore.get(driver, username);
+        if (session != null) {
+            session.restore(driver, targetUrl);
+            if (awaitNavigation(null, SESSION_TIMEOUT_SECONDS) && !isLoginPageDisplayed()) {
+                return true;
+            }
+            SessionStore.invalidate(driver, username);
+        }
+
+        driver.get(BASE_URL);
+        waitForElementVisible(usernameField);
+        String loginUrl = driver.getCurrentUrl();
+        login(username, password);
+        if (!awaitNavigation(loginUrl, SESSION_TIMEOUT_SECONDS) || isLoginPageDisplayed()) {
+            throw new IllegalStateException("Login failed for user '" + username + "': " + getErrorMessage());
+        }
+        SessionStore.put(driver, username, SessionState.capture(driver));
+        if (!driver.getCurrentUrl().equals(targetUrl)) {
+            driver.get(targetUrl);
+        }
+        return false;
+    }
+
     /**
      * Checks if user is currently logged in
      * @return true if user is logged in, false otherwise
@@ -123,6 +173,15 @@ public class LoginPage extends BasePage {
         return isDisplayed(errorMessage);
     }
 
+    /**
+     * Checks if the login form is displayed, e.g. after a redirect from a protected page
+     * 
+     * @return true if the username field and login button are displayed
+     */
+    public boolean isLoginPageDisplayed() {
+        return isDisplayed(usernameField) && isDisplayed(loginButton);
+    }
+
     /**
      * Checks if currently on login page
      * 
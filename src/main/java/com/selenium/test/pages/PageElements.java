@@ -0,0 +1,222 @@
+package com.selenium.test.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.SearchContext;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+import org.openqa.selenium.support.pagefactory.Annotations;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * PageElements initializes the WebElement fields of page objects, replacing PageFactory.initElements.
+ * Features:
+ * 1. Locator metadata (@FindBy, @FindBys, @FindAll, @CacheLookup) is read once per page class,
+ *    so constructing a page object only creates proxies and sets fields
+ * 2. Proxies find their element on each use, like PageFactory proxies
+ * 3. Optional short-lived element caching (pages.elementCacheMillis, default 0 = off):
+ *    an element found within the last n milliseconds is reused instead of found again;
+ *    element lists are always found again
+ * 4. Stale element recovery: if a cached or just-found element went stale, it is found
+ *    again and the call is retried once
+ *
+ * Fields annotated with @CacheLookup keep their element for the life of the page, as with PageFactory.
+ */
+final class PageElements {
+    private static final long CACHE_NANOS = Long.getLong("pages.elementCacheMillis", 0) * 1_000_000;
+    private static final Constructor<?> ELEMENT_PROXY = proxyConstructor(WebElement.class, WrapsElement.class,
+            Locatable.class);
+    private static final Constructor<?> LIST_PROXY = proxyConstructor(List.class);
+
+    private static final ClassValue<List<ElementField>> FIELDS = new ClassValue<List<ElementField>>() {
+        @Override
+        protected List<ElementField> computeValue(Class<?> type) {
+            return scan(type);
+        }
+    };
+
+    private PageElements() {
+    }
+
+    /**
+     * Locator metadata of one element field
+     */
+    private static final class ElementField {
+        private final Field field;
+        private final By by;
+        private final boolean list;
+        private final boolean cacheLookup;
+
+        private ElementField(Field field, By by, boolean list, boolean cacheLookup) {
+            this.field = field;
+            this.by = by;
+            this.list = list;
+            this.cacheLookup = cacheLookup;
+        }
+    }
+
+    /**
+     * Sets a proxy into every WebElement and WebElement list field of a page
+     *
+     * @param context Driver (or element) to search from
+     * @param page    Page object
+     */
+    static void initElements(SearchContext context, Object page) {
+        for (ElementField element : FIELDS.get(page.getClass())) {
+            // Lists are found again on every use (e.g. cart items change as items are added)
+            long cacheNanos = element.cacheLookup ? Long.MAX_VALUE : element.list ? 0 : CACHE_NANOS;
+            try {
+                Object proxy = element.list
+                        ? LIST_PROXY.newInstance(new ListHandler(context, element.by, cacheNanos))
+                        : ELEMENT_PROXY.newInstance(new ElementHandler(context, element.by, cacheNanos));
+                element.field.set(page, proxy);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Cannot initialize " + element.field, e);
+            }
+        }
+    }
+
+    /**
+     * Gets the constructor of a proxy class once, so creating a proxy skips the
+     * per-call interface checks and proxy class lookup of Proxy.newProxyInstance
+     */
+    private static Constructor<?> proxyConstructor(Class<?>... interfaces) {
+        InvocationHandler unused = (proxy, method, args) -> null;
+        Object prototype = Proxy.newProxyInstance(PageElements.class.getClassLoader(), interfaces, unused);
+        try {
+            return prototype.getClass().getConstructor(InvocationHandler.class);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalStateException("Proxy class without handler constructor", e);
+        }
+    }
+
+    /**
+     * Reads the element fields of a page class and its superclasses
+     */
+    private static List<ElementField> scan(Class<?> type) {
+        List<ElementField> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+                    continue;
+                }
+                boolean list = isWebElementList(field);
+                if (!list && field.getType() != WebElement.class) {
+                    continue;
+                }
+                Annotations annotations = new Annotations(field);
+                field.setAccessible(true);
+                fields.add(new ElementField(field, annotations.buildBy(), list, annotations.isLookupCached()));
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    private static boolean isWebElementList(Field field) {
+        if (field.getType() != List.class) {
+            return false;
+        }
+        Type type = field.getGenericType();
+        return type instanceof ParameterizedType
+                && ((ParameterizedType) type).getActualTypeArguments()[0] == WebElement.class;
+    }
+
+    /**
+     * Finds and optionally caches the target of a proxy, retrying once on a stale element
+     */
+    private abstract static class LocatingHandler<T> implements InvocationHandler {
+        protected final SearchContext context;
+        protected final By by;
+        private final long cacheNanos;
+        private T cached;
+        private long foundAt;
+
+        LocatingHandler(SearchContext context, By by, long cacheNanos) {
+            this.context = context;
+            this.by = by;
+            this.cacheNanos = cacheNanos;
+        }
+
+        abstract T find();
+
+        T target() {
+            if (cached != null && System.nanoTime() - foundAt < cacheNanos) {
+                return cached;
+            }
+            T found = find();
+            if (cacheNanos > 0) {
+                cached = found;
+                foundAt = System.nanoTime();
+            }
+            return found;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "toString":
+                        return "Proxy element for: " + by;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        break;
+                }
+            }
+            try {
+                return invokeOn(target(), method, args);
+            } catch (StaleElementReferenceException e) {
+                cached = null;
+                return invokeOn(target(), method, args);
+            }
+        }
+
+        private Object invokeOn(T target, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == WrapsElement.class) {
+                return target;
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    private static final class ElementHandler extends LocatingHandler<WebElement> {
+        ElementHandler(SearchContext context, By by, long cacheNanos) {
+            super(context, by, cacheNanos);
+        }
+
+        @Override
+        WebElement find() {
+            return context.findElement(by);
+        }
+    }
+
+    private static final class ListHandler extends LocatingHandler<List<WebElement>> {
+        ListHandler(SearchContext context, By by, long cacheNanos) {
+            super(context, by, cacheNanos);
+        }
+
+        @Override
+        List<WebElement> find() {
+            return context.findElements(by);
+        }
+    }
+}
@@ -1,9 +1,10 @@
 package com.selenium.test.pages;
 
+import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
-import com.selenium.test.utils.TestDataGenerator;
+import com.selenium.test.utils.Identity;
 
 /**
  * RegisterPage implements Page Object Model pattern for registration page.
@@ -13,20 +14,27 @@ import com.selenium.test.utils.TestDataGenerator;
  * 3. Page validations - Methods to verify page state
  */
 public class RegisterPage extends BasePage {
+    // Element ids used by both @FindBy and the scripted fill, so the two cannot drift apart
+    private static final String FIRST_NAME_ID = "firstname";
+    private static final String LAST_NAME_ID = "lastname";
+    private static final String EMAIL_ID = "email";
+    private static final String PASSWORD_ID = "password";
+    private static final String CONFIRM_PASSWORD_ID = "confirm-password";
+
     // Page elements using @FindBy for maintainable element location
-    @FindBy(id = "firstname")
+    @FindBy(id = FIRST_NAME_ID)
     private WebElement firstNameField;
 
-    @FindBy(id = "lastname")
+    @FindBy(id = LAST_NAME_ID)
     private WebElement lastNameField;
 
-    @FindBy(id = "email")
+    @FindBy(id = EMAIL_ID)
     private WebElement emailField;
 
-    @FindBy(id = "password")
+    @FindBy(id = PASSWORD_ID)
     private WebElement passwordField;
 
-    @FindBy(id = "confirm-password")
+    @FindBy(id = CONFIRM_PASSWORD_ID)
     private WebElement confirmPasswordField;
 
     @FindBy(id = "register-button")
@@ -58,7 +66,8 @@ public class RegisterPage extends BasePage {
     }
 
     /**
-     * Register a new user
+     * Register a new user.
+     * Fields are typed with sendKeys unless the page is in SCRIPT fill mode (see BasePage.setFillMode).
      * 
      * @param firstName       First name of the user
      * @param lastName        Last name of the user
@@ -68,22 +77,33 @@ public class RegisterPage extends BasePage {
      */
     public void register(String firstName, String lastName, String email,
             String password, String confirmPassword) {
-        type(firstNameField, firstName);
-        type(lastNameField, lastName);
-        type(emailField, email);
-        type(passwordField, password);
-        type(confirmPasswordField, confirmPassword);
+        fillForm(field(By.id(FIRST_NAME_ID), firstNameField, firstName),
+                field(By.id(LAST_NAME_ID), lastNameField, lastName),
+                field(By.id(EMAIL_ID), emailField, email),
+                field(By.id(PASSWORD_ID), passwordField, password),
+                field(By.id(CONFIRM_PASSWORD_ID), confirmPasswordField, confirmPassword));
         click(registerButton);
     }
 
     /**
-     * Simplified register method for basic registration
+     * Simplified register method for basic registration.
+     * The email is username@testdomain.com, so it is as unique as the username.
      * 
      * @param username Username for registration
      * @param password Password for registration
      */
     public void register(String username, String password) {
-        register(username, username, TestDataGenerator.generateEmail(), password, password);
+        register(username, username, username + "@testdomain.com", password, password);
+    }
+
+    /**
+     * Register a new user with a pre-generated identity
+     * 
+     * @param identity Identity leased from IdentityPool
+     */
+    public void register(Identity identity) {
+        register(identity.getUsername(), identity.getUsername(), identity.getEmail(),
+                identity.getPassword(), identity.getPassword());
     }
 
     /**
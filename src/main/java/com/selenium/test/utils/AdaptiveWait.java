@@ -0,0 +1,159 @@
+package com.selenium.test.utils;
+
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.support.ui.Wait;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * AdaptiveWait waits for a condition like WebDriverWait, but polls adaptively:
+ * the first polls come quickly so fast conditions return almost at once, then the
+ * interval grows geometrically so slow conditions do not flood the browser with commands.
+ * Every wait is recorded in WaitStatistics under the name of the wait and its condition.
+ *
+ * Configuration (system properties; a page-specific property, e.g.
+ * waits.CartPage.timeoutSeconds, takes precedence over the global one):
+ * - waits.timeoutSeconds: default timeout (default 10)
+ * - waits.poll.initialMillis: first poll interval (default 10)
+ * - waits.poll.maxMillis: largest poll interval (default 250)
+ * - waits.poll.factor: growth of the interval after each poll (default 1.5)
+ *
+ * Like WebDriverWait, NotFoundException and StaleElementReferenceException are
+ * treated as "not yet" while polling.
+ */
+public final class AdaptiveWait implements Wait<WebDriver> {
+    private static final long DEFAULT_TIMEOUT_SECONDS = 10;
+    private static final long DEFAULT_INITIAL_POLL_MILLIS = 10;
+    private static final long DEFAULT_MAX_POLL_MILLIS = 250;
+    private static final double DEFAULT_POLL_FACTOR = 1.5;
+
+    private final WebDriver driver;
+    private final String name;
+    private final Duration timeout;
+    private final long initialPollMillis;
+    private final long maxPollMillis;
+    private final double pollFactor;
+
+    /**
+     * Creates a wait
+     *
+     * @param driver            WebDriver instance passed to conditions
+     * @param name              Prefix of the condition names in WaitStatistics, e.g. the page class name
+     * @param timeout           Default timeout
+     * @param initialPollMillis First poll interval
+     * @param maxPollMillis     Largest poll interval
+     * @param pollFactor        Growth of the interval after each poll, at least 1
+     */
+    public AdaptiveWait(WebDriver driver, String name, Duration timeout, long initialPollMillis, long maxPollMillis,
+            double pollFactor) {
+        if (initialPollMillis < 1 || maxPollMillis < initialPollMillis || pollFactor < 1) {
+            throw new IllegalArgumentException("Invalid polling: initial " + initialPollMillis + " ms, max "
+                    + maxPollMillis + " ms, factor " + pollFactor);
+        }
+        this.driver = driver;
+        this.name = name;
+        this.timeout = timeout;
+        this.initialPollMillis = initialPollMillis;
+        this.maxPollMillis = maxPollMillis;
+        this.pollFactor = pollFactor;
+    }
+
+    /**
+     * Creates a wait configured for a page from the waits.* system properties
+     *
+     * @param driver WebDriver instance passed to conditions
+     * @param page   Page class; its simple name selects page-specific properties
+     * @return Wait named after the page
+     */
+    public static AdaptiveWait forPage(WebDriver driver, Class<?> page) {
+        String pageName = page.getSimpleName();
+        return new AdaptiveWait(driver, pageName,
+                Duration.ofSeconds(longProperty(pageName, "timeoutSeconds", DEFAULT_TIMEOUT_SECONDS)),
+                longProperty(pageName, "poll.initialMillis", DEFAULT_INITIAL_POLL_MILLIS),
+                longProperty(pageName, "poll.maxMillis", DEFAULT_MAX_POLL_MILLIS),
+                Double.parseDouble(property(pageName, "poll.factor", Double.toString(DEFAULT_POLL_FACTOR))));
+    }
+
+    private static long longProperty(String pageName, String key, long defaultValue) {
+        return Long.parseLong(property(pageName, key, Long.toString(defaultValue)).trim());
+    }
+
+    private static String property(String pageName, String key, String defaultValue) {
+        String value = System.getProperty("waits." + pageName + "." + key);
+        return value != null ? value : System.getProperty("waits." + key, defaultValue);
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Waits for a condition with the default timeout, recorded under the condition name "until"
+     *
+     * @param condition Condition returning a non-null, non-false value when met
+     * @return Value returned by the condition
+     * @throws TimeoutException if the condition is not met in time
+     */
+    @Override
+    public <V> V until(Function<? super WebDriver, V> condition) {
+        return until("until", condition, timeout);
+    }
+
+    /**
+     * Waits for a named condition
+     *
+     * @param conditionName Name recorded in WaitStatistics, e.g. "visible"
+     * @param condition     Condition returning a non-null, non-false value when met
+     * @param timeout       Time to wait before failing
+     * @return Value returned by the condition
+     * @throws TimeoutException if the condition is not met in time
+     */
+    public <V> V until(String conditionName, Function<? super WebDriver, V> condition, Duration timeout) {
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        double interval = initialPollMillis;
+        int polls = 0;
+        RuntimeException lastException = null;
+
+        while (true) {
+            polls++;
+            try {
+                V value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    record(conditionName, start, polls, true);
+                    return value;
+                }
+                lastException = null;
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastException = e;
+            }
+
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos <= 0) {
+                record(conditionName, start, polls, false);
+                throw new TimeoutException(String.format("Expected condition failed: waiting for %s (tried for %d ms "
+                        + "with %d polls)", condition, timeout.toMillis(), polls), lastException);
+            }
+            sleep(Math.min((long) interval, Math.max(1, remainingNanos / 1_000_000)));
+            interval = Math.min(interval * pollFactor, maxPollMillis);
+        }
+    }
+
+    private void record(String conditionName, long start, int polls, boolean satisfied) {
+        WaitStatistics.record(name + "." + conditionName, (System.nanoTime() - start) / 1_000_000, polls, satisfied);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WebDriverException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.selenium.test.utils;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.CellValue;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntFunction;
+
+/**
+ * CellConverter turns cells into the strings stored in test data rows.
+ * One converter is created per sheet load and reused for every cell:
+ * 1. A single DataFormatter and FormulaEvaluator per workbook
+ * 2. Number formats (pattern and date detection) cached per cell style
+ * 3. Whole numbers in General format are printed without the formatter
+ * 4. Formatted dates cached per value, since test data repeats dates often
+ * 5. Formulas use the result saved in the file; the evaluator only runs
+ *    for formula cells that have no saved result
+ *
+ * Instances are not thread-safe; each loading thread uses its own converter.
+ */
+final class CellConverter {
+
+    /**
+     * Cached number format of one cell style
+     */
+    private static final class NumberFormat {
+        private final short index;
+        private final String pattern;
+        private final boolean date;
+        private final boolean general;
+
+        private NumberFormat(short index, String pattern) {
+            this.index = index;
+            this.pattern = pattern;
+            this.date = DateUtil.isADateFormat(index, pattern);
+            this.general = "General".equalsIgnoreCase(pattern);
+        }
+    }
+
+    private static final NumberFormat GENERAL = new NumberFormat((short) 0, "General");
+    private static final int MAX_CACHED_DATES = 4096;
+
+    private final DataFormatter formatter = new DataFormatter();
+    private final Map<Integer, NumberFormat> formats = new HashMap<>();
+    private final Map<Double, String> dates = new HashMap<>();
+    private final IntFunction<CellStyle> styles;
+    private final FormulaEvaluator evaluator;
+
+    private CellConverter(IntFunction<CellStyle> styles, FormulaEvaluator evaluator) {
+        this.styles = styles;
+        this.evaluator = evaluator;
+    }
+
+    /**
+     * Creates a converter for usermodel cells of a workbook
+     *
+     * @param workbook Workbook being read
+     * @return Converter sharing one formatter and evaluator
+     */
+    static CellConverter forWorkbook(Workbook workbook) {
+        return new CellConverter(workbook::getCellStyleAt,
+                workbook.getCreationHelper().createFormulaEvaluator());
+    }
+
+    /**
+     * Creates a converter for streamed cells
+     *
+     * @param stylesTable Styles of the workbook, may be null
+     * @return Converter resolving number formats from the styles table
+     */
+    static CellConverter forStyles(StylesTable stylesTable) {
+        return new CellConverter(index -> stylesTable == null || index >= stylesTable.getNumCellStyles()
+                ? null : stylesTable.getStyleAt(index), null);
+    }
+
+    /**
+     * Converts a cell value to string regardless of cell type
+     *
+     * @param cell Cell to read, may be null
+     * @return String value of cell
+     */
+    String toString(Cell cell) {
+        if (cell == null) {
+            return "";
+        }
+        switch (cell.getCellType()) {
+            case STRING:
+                return cell.getStringCellValue().trim();
+            case NUMERIC:
+                return formatNumber(cell.getNumericCellValue(), cell.getCellStyle().getIndex());
+            case BOOLEAN:
+                return String.valueOf(cell.getBooleanCellValue());
+            case FORMULA:
+                return formulaResult(cell);
+            default:
+                return "";
+        }
+    }
+
+    /**
+     * Formats a number with the format of a cell style, as Excel would display it
+     *
+     * @param value      Numeric cell value
+     * @param styleIndex Index of the cell style
+     * @return Formatted value, or Date.toString() for date formatted cells
+     */
+    String formatNumber(double value, int styleIndex) {
+        NumberFormat format = formats.computeIfAbsent(styleIndex, this::lookupFormat);
+        if (format.date && DateUtil.isValidExcelDate(value)) {
+            return formatDate(value);
+        }
+        if (format.general && value == Math.rint(value) && Math.abs(value) < 1e11) {
+            // Same output as DataFormatter for whole numbers shown in General format
+            return Long.toString((long) value);
+        }
+        return formatter.formatRawCellContents(value, format.index, format.pattern).trim();
+    }
+
+    private String formatDate(double value) {
+        String formatted = dates.get(value);
+        if (formatted == null) {
+            formatted = DateUtil.getJavaDate(value).toString();
+            if (dates.size() < MAX_CACHED_DATES) {
+                dates.put(value, formatted);
+            }
+        }
+        return formatted;
+    }
+
+    private NumberFormat lookupFormat(int styleIndex) {
+        CellStyle style = styles.apply(styleIndex);
+        if (style == null || style.getDataFormatString() == null) {
+            return GENERAL;
+        }
+        return new NumberFormat(style.getDataFormat(), style.getDataFormatString());
+    }
+
+    /**
+     * Reads the saved result of a formula, evaluating it only if the file has none
+     */
+    private String formulaResult(Cell cell) {
+        CellValue value = evaluate(cell);
+        CellType type = value != null ? value.getCellType() : cell.getCachedFormulaResultType();
+        switch (type) {
+            case NUMERIC:
+                return String.valueOf(value != null ? value.getNumberValue() : cell.getNumericCellValue());
+            case STRING:
+                return value != null ? value.getStringValue() : cell.getStringCellValue();
+            case BOOLEAN:
+                return String.valueOf(value != null ? value.getBooleanValue() : cell.getBooleanCellValue());
+            default:
+                return "";
+        }
+    }
+
+    private CellValue evaluate(Cell cell) {
+        if (evaluator == null || hasSavedResult(cell)) {
+            return null;
+        }
+        try {
+            return evaluator.evaluate(cell);
+        } catch (RuntimeException e) {
+            // Unsupported functions or external references: use the value Excel saved
+            return null;
+        }
+    }
+
+    private boolean hasSavedResult(Cell cell) {
+        return !(cell instanceof XSSFCell) || ((XSSFCell) cell).getCTCell().isSetV();
+    }
+}
@@ -0,0 +1,70 @@
+package com.selenium.test.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ColumnSchema declares the types of selected test data columns.
+ * Columns that are not declared stay plain strings.
+ *
+ * Example:
+ * ColumnSchema schema = ColumnSchema.empty()
+ *         .with("quantity", ColumnType.INT)
+ *         .with("price", ColumnType.DECIMAL);
+ */
+public final class ColumnSchema {
+    private static final ColumnSchema EMPTY = new ColumnSchema(Collections.emptyMap());
+
+    private final Map<String, ColumnType> types;
+
+    private ColumnSchema(Map<String, ColumnType> types) {
+        this.types = Collections.unmodifiableMap(types);
+    }
+
+    /**
+     * Gets a schema without typed columns
+     *
+     * @return Empty schema
+     */
+    public static ColumnSchema empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a copy of this schema with one more typed column
+     *
+     * @param column Column name
+     * @param type   Column type
+     * @return New schema
+     */
+    public ColumnSchema with(String column, ColumnType type) {
+        Map<String, ColumnType> copy = new LinkedHashMap<>(types);
+        copy.put(column, type);
+        return new ColumnSchema(copy);
+    }
+
+    /**
+     * Gets the declared type of a column
+     *
+     * @param column Column name
+     * @return Declared type, or null if the column is untyped
+     */
+    public ColumnType typeOf(String column) {
+        return types.get(column);
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof ColumnSchema && types.equals(((ColumnSchema) o).types);
+    }
+
+    @Override
+    public int hashCode() {
+        return types.hashCode();
+    }
+}
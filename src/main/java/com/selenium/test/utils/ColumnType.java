@@ -0,0 +1,94 @@
+package com.selenium.test.utils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Locale;
+
+/**
+ * ColumnType declares how a test data column is parsed at load time.
+ * Blank cells parse to null for every type.
+ */
+public enum ColumnType {
+    /** Whole number, e.g. "42" or "42.0" from a numeric formula */
+    INT {
+        @Override
+        Object parseValue(String value) {
+            return new BigDecimal(value).intValueExact();
+        }
+    },
+    /** Decimal number, e.g. "19.99" */
+    DECIMAL {
+        @Override
+        Object parseValue(String value) {
+            return new BigDecimal(value);
+        }
+    },
+    /** true/false, yes/no or 1/0, case-insensitive */
+    BOOLEAN {
+        @Override
+        Object parseValue(String value) {
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "true":
+                case "yes":
+                case "1":
+                    return Boolean.TRUE;
+                case "false":
+                case "no":
+                case "0":
+                    return Boolean.FALSE;
+                default:
+                    throw new IllegalArgumentException("not a boolean");
+            }
+        }
+    },
+    /** ISO date or date-time, or a date cell as read from Excel */
+    DATE {
+        @Override
+        Object parseValue(String value) {
+            try {
+                return LocalDate.parse(value);
+            } catch (DateTimeParseException e) {
+                // Try the other supported formats below
+            }
+            try {
+                return LocalDateTime.parse(value).toLocalDate();
+            } catch (DateTimeParseException e) {
+                return LocalDate.parse(value, EXCEL_DATE);
+            }
+        }
+    },
+    /** Plain text, kept as is */
+    STRING {
+        @Override
+        Object parseValue(String value) {
+            return value;
+        }
+    };
+
+    /** Format of java.util.Date.toString(), used for date formatted cells */
+    private static final DateTimeFormatter EXCEL_DATE =
+            DateTimeFormatter.ofPattern("EEE MMM dd HH:mm:ss zzz yyyy", Locale.US);
+
+    /**
+     * Parses a cell value
+     *
+     * @param value Cell value as stored in the row
+     * @return Parsed value, or null for a blank cell
+     * @throws IllegalArgumentException if the value does not match the type
+     */
+    public Object parse(String value) {
+        if (value == null || value.isEmpty()) {
+            return null;
+        }
+        try {
+            return parseValue(value);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid " + name().toLowerCase(Locale.ROOT) + " value '" + value + "'", e);
+        }
+    }
+
+    abstract Object parseValue(String value);
+}
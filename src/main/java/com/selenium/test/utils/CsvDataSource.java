@@ -0,0 +1,160 @@
+package com.selenium.test.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CsvDataSource reads a sheet from a CSV file (RFC 4180), one sheet per file.
+ * Features:
+ * 1. The file is read through a FileChannel in 64 KB chunks and parsed record by record,
+ *    so large files are streamed like large workbooks
+ * 2. Quoted fields may contain commas, line breaks and doubled quotes
+ * 3. The first record is the header; blank lines are skipped
+ * 4. Short records are padded with empty values, extra fields are ignored
+ *    (as cells beyond the header row are in a workbook)
+ * 5. Headers and values are trimmed like workbook cells, so a sheet gives the same
+ *    rows whether it is stored as CSV or in TestData.xlsx
+ */
+final class CsvDataSource implements TestDataSource {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final char BOM = '\uFEFF';
+
+    @Override
+    public boolean read(Path file, String sheetName, RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                Reader reader = Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE)) {
+            RecordParser parser = new RecordParser(reader, file);
+            List<String> headers = parser.next();
+            if (headers == null) {
+                handler.headers(Collections.emptyList());
+                return true;
+            }
+            if (!headers.isEmpty() && !headers.get(0).isEmpty() && headers.get(0).charAt(0) == BOM) {
+                headers.set(0, headers.get(0).substring(1));
+            }
+            headers.replaceAll(String::trim);
+            handler.headers(new ArrayList<>(headers));
+
+            List<String> record;
+            while ((record = parser.next()) != null) {
+                String[] values = new String[headers.size()];
+                for (int i = 0; i < values.length; i++) {
+                    values[i] = i < record.size() ? record.get(i).trim() : "";
+                }
+                handler.row(values);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public List<String> sheetNames(Path file) {
+        return Collections.singletonList(ExcelDataProvider.baseName(file));
+    }
+
+    /**
+     * Splits the character stream into records
+     */
+    private static final class RecordParser {
+        private final Reader reader;
+        private final Path file;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private final StringBuilder field = new StringBuilder();
+        private int position;
+        private int limit;
+        private int line = 1;
+
+        private RecordParser(Reader reader, Path file) {
+            this.reader = reader;
+            this.file = file;
+        }
+
+        /**
+         * Reads the next non-blank record
+         *
+         * @return Fields of the record, or null at end of file
+         */
+        private List<String> next() throws IOException {
+            List<String> record;
+            do {
+                record = readRecord();
+            } while (record != null && record.size() == 1 && record.get(0).isEmpty());
+            return record;
+        }
+
+        private List<String> readRecord() throws IOException {
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            List<String> record = new ArrayList<>();
+            field.setLength(0);
+            boolean quoted = false;
+            int quoteLine = line;
+            while (true) {
+                if (quoted) {
+                    if (c < 0) {
+                        throw new IOException("Unterminated quoted field starting at line " + quoteLine
+                                + " of " + file);
+                    }
+                    if (c == '"') {
+                        int following = read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = following;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c < 0 || c == '\n' || c == '\r') {
+                    record.add(field.toString());
+                    if (c == '\r') {
+                        int following = read();
+                        if (following != '\n' && following >= 0) {
+                            position--;
+                        }
+                    }
+                    if (c >= 0) {
+                        line++;
+                    }
+                    return record;
+                } else if (c == ',') {
+                    record.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                    quoteLine = line;
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        private int read() throws IOException {
+            if (position == limit) {
+                limit = reader.read(buffer, 0, buffer.length);
+                position = 0;
+                if (limit <= 0) {
+                    limit = 0;
+                    return -1;
+                }
+            }
+            return buffer[position++];
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.selenium.test.utils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * DataRow is an immutable test data row exposed as a Map of column name to value.
+ * It stores only a String[] of values and shares the header lookup of its RowSchema,
+ * so wide and long sheets do not pay for a hash table per row.
+ * Tests keep using it as a plain Map&lt;String, String&gt;.
+ *
+ * Rows loaded with a ColumnSchema also carry values parsed once at load time,
+ * returned by the typed getters (getInt, getDecimal, getBoolean, getDate).
+ * Without a schema the typed getters parse the string value on each call.
+ */
+public final class DataRow extends AbstractMap<String, String> {
+    private final RowSchema schema;
+    private final String[] values;
+    private final Object[] typedValues;
+
+    /**
+     * Creates a row; use RowSchema.newRow
+     *
+     * @param schema Shared header lookup
+     * @param values Cell values aligned with the headers
+     */
+    DataRow(RowSchema schema, String[] values) {
+        this(schema, values.length == schema.getHeaders().size()
+                ? values
+                : Arrays.copyOf(values, schema.getHeaders().size()), null);
+    }
+
+    private DataRow(RowSchema schema, String[] values, Object[] typedValues) {
+        this.schema = schema;
+        this.values = values;
+        this.typedValues = typedValues;
+    }
+
+    /**
+     * Creates a copy of this row carrying pre-parsed values
+     *
+     * @param typedValues Parsed values aligned with the headers (null for untyped columns)
+     * @return Row sharing this row's string values
+     */
+    DataRow withTypedValues(Object[] typedValues) {
+        return new DataRow(schema, values, typedValues);
+    }
+
+    public RowSchema getSchema() {
+        return schema;
+    }
+
+    /**
+     * Gets a value by column position
+     *
+     * @param column Column index
+     * @return Cell value
+     */
+    public String get(int column) {
+        String value = values[column];
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Gets the parsed value of a column declared in the ColumnSchema
+     *
+     * @param column Column name
+     * @return Parsed value, or the string value for untyped columns
+     */
+    public Object getTyped(String column) {
+        int index = schema.indexOf(column);
+        if (index < 0) {
+            return null;
+        }
+        if (typedValues != null && typedValues[index] != null) {
+            return typedValues[index];
+        }
+        return get(index);
+    }
+
+    public Integer getInt(String column) {
+        return typed(column, ColumnType.INT, Integer.class);
+    }
+
+    public BigDecimal getDecimal(String column) {
+        return typed(column, ColumnType.DECIMAL, BigDecimal.class);
+    }
+
+    public Boolean getBoolean(String column) {
+        return typed(column, ColumnType.BOOLEAN, Boolean.class);
+    }
+
+    public LocalDate getDate(String column) {
+        return typed(column, ColumnType.DATE, LocalDate.class);
+    }
+
+    private <T> T typed(String column, ColumnType type, Class<T> valueClass) {
+        Object value = getTyped(column);
+        if (value == null || valueClass.isInstance(value)) {
+            return valueClass.cast(value);
+        }
+        return valueClass.cast(type.parse(value.toString()));
+    }
+
+    @Override
+    public String get(Object key) {
+        int column = schema.indexOf(key);
+        return column < 0 ? null : get(column);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return schema.indexOf(key) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return schema.keyCount();
+    }
+
+    @Override
+    public Set<Map.Entry<String, String>> entrySet() {
+        return new AbstractSet<Map.Entry<String, String>>() {
+            @Override
+            public Iterator<Map.Entry<String, String>> iterator() {
+                return new Iterator<Map.Entry<String, String>>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < schema.keyCount();
+                    }
+
+                    @Override
+                    public Map.Entry<String, String> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        int column = schema.keyColumn(next++);
+                        return new AbstractMap.SimpleImmutableEntry<>(schema.getHeaders().get(column), get(column));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return schema.keyCount();
+            }
+        };
+    }
+}
@@ -0,0 +1,189 @@
+package com.selenium.test.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import io.github.bonigarcia.wdm.versions.VersionDetector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DriverBinaryResolver resolves browser driver binaries once per JVM.
+ * Features:
+ * 1. WebDriverManager runs at most once per browser per JVM
+ * 2. Resolved binary paths are persisted in a local cache directory so later
+ *    JVMs on the same agent skip version resolution entirely
+ * 3. A cached path is only reused while the installed browser has the major version it
+ *    was resolved for; after a browser update the driver is resolved again. If the browser
+ *    version cannot be detected, the cached path expires after driver.cache.ttlHours.
+ * 4. Offline mode that only uses the local cache and fails fast when the binary is missing
+ *
+ * Configuration (system properties):
+ * - driver.cache.dir: cache directory for binaries and resolved paths (default ~/.cache/selenium-drivers)
+ * - driver.cache.ttlHours: age after which a cached path is resolved again when the
+ *   browser version is unknown (default 24)
+ * - driver.offline: true to never contact the network and always use the cached path (default false)
+ */
+public final class DriverBinaryResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+
+    private static final String RESOLVED_PATHS_FILE = "resolved-drivers.properties";
+    private static final String BROWSER_VERSION_SUFFIX = ".browserMajorVersion";
+    private static final String RESOLVED_AT_SUFFIX = ".resolvedAt";
+    private static final Map<String, String> RESOLVED = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Makes the driver binary for a browser available to Selenium.
+     * Subsequent calls for the same browser return immediately.
+     *
+     * @param browser Browser name (chrome/firefox)
+     * @return Absolute path of the driver binary
+     */
+    public static String resolve(String browser) {
+        return RESOLVED.computeIfAbsent(browser.toLowerCase(), DriverBinaryResolver::resolveOnce);
+    }
+
+    private static String resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String property = driverSystemProperty(browser);
+        String configuredPath = System.getProperty(property);
+        if (configuredPath != null) {
+            logger.info("Using configured {} driver {}", browser, configuredPath);
+            return configuredPath;
+        }
+
+        Path cacheDir = cacheDir();
+        Properties resolvedPaths = loadResolvedPaths(cacheDir);
+
+        // Reuse a binary resolved by an earlier JVM on this agent
+        String cachedPath = resolvedPaths.getProperty(browser);
+        boolean cached = cachedPath != null && Files.isExecutable(Paths.get(cachedPath));
+        if (Boolean.getBoolean("driver.offline")) {
+            if (!cached) {
+                throw new IllegalStateException("Offline mode: no cached " + browser + " driver in " + cacheDir
+                        + ". Run once with network access or set -D" + property + ".");
+            }
+            System.setProperty(property, cachedPath);
+            logger.info("Using cached {} driver {} (offline, {} ms)", browser, cachedPath, elapsedMillis(start));
+            return cachedPath;
+        }
+
+        WebDriverManager manager = "firefox".equals(browser)
+                ? WebDriverManager.firefoxdriver()
+                : WebDriverManager.chromedriver();
+        String browserVersion = detectBrowserMajorVersion(manager, browser);
+        if (cached && isCurrent(resolvedPaths, browser, browserVersion)) {
+            System.setProperty(property, cachedPath);
+            logger.info("Using cached {} driver {} ({} ms)", browser, cachedPath, elapsedMillis(start));
+            return cachedPath;
+        }
+        if (cached) {
+            logger.info("Cached {} driver {} is outdated (browser version {}), resolving again", browser,
+                    cachedPath, browserVersion != null ? browserVersion : "unknown");
+        }
+
+        manager.cachePath(cacheDir.toString()).setup();
+        String driverPath = manager.getDownloadedDriverPath();
+
+        resolvedPaths.setProperty(browser, driverPath);
+        resolvedPaths.setProperty(browser + RESOLVED_AT_SUFFIX, Long.toString(System.currentTimeMillis()));
+        if (browserVersion != null) {
+            resolvedPaths.setProperty(browser + BROWSER_VERSION_SUFFIX, browserVersion);
+        } else {
+            resolvedPaths.remove(browser + BROWSER_VERSION_SUFFIX);
+        }
+        storeResolvedPaths(cacheDir, resolvedPaths);
+        logger.info("Resolved {} driver {} via WebDriverManager ({} ms)", browser, driverPath, elapsedMillis(start));
+        return driverPath;
+    }
+
+    /**
+     * Checks whether a cached driver still matches the installed browser.
+     * With a known browser version the cached major version must be equal; otherwise
+     * the entry is current until it is older than driver.cache.ttlHours.
+     */
+    private static boolean isCurrent(Properties resolvedPaths, String browser, String browserVersion) {
+        String cachedVersion = resolvedPaths.getProperty(browser + BROWSER_VERSION_SUFFIX);
+        if (browserVersion != null && cachedVersion != null) {
+            return browserVersion.equals(cachedVersion);
+        }
+        long resolvedAt;
+        try {
+            resolvedAt = Long.parseLong(resolvedPaths.getProperty(browser + RESOLVED_AT_SUFFIX, "0"));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        long ttlMillis = TimeUnit.HOURS.toMillis(Long.getLong("driver.cache.ttlHours", 24L));
+        return System.currentTimeMillis() - resolvedAt < ttlMillis;
+    }
+
+    /**
+     * Gets the major version of the installed browser with WebDriverManager's own detection,
+     * e.g. "122". It queries the registry or package manager and never starts the browser.
+     * Runs locally, without network access.
+     *
+     * @return Major version, or null if the browser or its version cannot be found
+     */
+    private static String detectBrowserMajorVersion(WebDriverManager manager, String browser) {
+        try {
+            return new VersionDetector(manager.config(), null).getBrowserVersionFromTheShell(browser)
+                    .map(VersionDetector::getMajorVersion).orElse(null);
+        } catch (RuntimeException e) {
+            logger.debug("Browser version detection failed: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static String driverSystemProperty(String browser) {
+        return "firefox".equals(browser) ? "webdriver.gecko.driver" : "webdriver.chrome.driver";
+    }
+
+    private static Path cacheDir() {
+        String dir = System.getProperty("driver.cache.dir",
+                System.getProperty("user.home") + "/.cache/selenium-drivers");
+        return Paths.get(dir).toAbsolutePath();
+    }
+
+    private static Properties loadResolvedPaths(Path cacheDir) {
+        Properties properties = new Properties();
+        Path file = cacheDir.resolve(RESOLVED_PATHS_FILE);
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                properties.load(in);
+            } catch (IOException e) {
+                logger.warn("Ignoring unreadable driver cache {}: {}", file, e.getMessage());
+            }
+        }
+        return properties;
+    }
+
+    private static synchronized void storeResolvedPaths(Path cacheDir, Properties resolvedPaths) {
+        // Merge with entries written for other browsers since we loaded the file
+        Properties merged = loadResolvedPaths(cacheDir);
+        merged.putAll(resolvedPaths);
+        try {
+            Files.createDirectories(cacheDir);
+            try (OutputStream out = Files.newOutputStream(cacheDir.resolve(RESOLVED_PATHS_FILE))) {
+                merged.store(out, "Driver binaries resolved by WebDriverManager");
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to persist driver cache in {}: {}", cacheDir, e.getMessage());
+        }
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -0,0 +1,51 @@
+package com.selenium.test.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.firefox.FirefoxDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * DriverFactory creates new browser sessions.
+ * It encapsulates:
+ * 1. Driver binary setup through DriverBinaryResolver (once per JVM)
+ * 2. Browser specific options
+ * 3. Common window configuration
+ */
+public final class DriverFactory {
+    private static final Logger logger = LoggerFactory.getLogger(DriverFactory.class);
+
+    private DriverFactory() {
+    }
+
+    /**
+     * Starts a new browser session
+     *
+     * @param browser Browser to start (chrome/firefox)
+     * @return New WebDriver instance
+     */
+    public static WebDriver createDriver(String browser) {
+        DriverBinaryResolver.resolve(browser);
+
+        long start = System.nanoTime();
+        WebDriver driver;
+        switch (browser.toLowerCase()) {
+            case "firefox":
+                driver = new FirefoxDriver();
+                break;
+            case "chrome":
+            default:
+                ChromeOptions options = new ChromeOptions();
+                options.addArguments("--remote-allow-origins=*");
+                driver = new ChromeDriver(options);
+                break;
+        }
+
+        // Maximize window once per session
+        driver.manage().window().maximize();
+        logger.info("Started {} session in {} ms", browser, (System.nanoTime() - start) / 1_000_000);
+        return driver;
+    }
+}
@@ -0,0 +1,229 @@
+package com.selenium.test.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DriverPool keeps browser sessions alive between tests so that a
+ * data-driven suite pays browser startup once per worker instead of once per row.
+ * Features:
+ * 1. Configurable pool size (maximum concurrent sessions per browser)
+ * 2. Lease/release API used by BaseTest
+ * 3. Session reset between leases (cookies, storage, blank page)
+ * 4. Session recycling after a number of leases or a failed health check
+ *
+ * Configuration (system properties):
+ * - driver.pool.size: maximum sessions per browser (default 1, or the size set with setDefaultSize)
+ * - driver.pool.maxLeases: leases before a session is recycled (default 50)
+ * - driver.pool.leaseTimeoutSeconds: time to wait for a free session (default 300)
+ */
+public final class DriverPool {
+    private static final Logger logger = LoggerFactory.getLogger(DriverPool.class);
+
+    private static final Map<String, DriverPool> POOLS = new ConcurrentHashMap<>();
+    private static final String BLANK_PAGE = "about:blank";
+
+    private static volatile int defaultSize = 1;
+
+    private final String browser;
+    private final int maxLeases;
+    private final long leaseTimeoutSeconds;
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    /**
+     * Session wrapper tracking how often a driver has been leased
+     */
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private int leaseCount;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+    }
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DriverPool::shutdownAll, "driver-pool-shutdown"));
+    }
+
+    private DriverPool(String browser, int size, int maxLeases, long leaseTimeoutSeconds) {
+        this.browser = browser;
+        this.maxLeases = maxLeases;
+        this.leaseTimeoutSeconds = leaseTimeoutSeconds;
+        this.permits = new Semaphore(size, true);
+    }
+
+    /**
+     * Sets the pool size used when driver.pool.size is not set, e.g. the number of
+     * sessions the suite can lease at once. Applies to pools created afterwards.
+     *
+     * @param size Maximum sessions per browser
+     */
+    public static void setDefaultSize(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be at least 1: " + size);
+        }
+        defaultSize = size;
+    }
+
+    /**
+     * Gets the shared pool for a browser, creating it from system properties on first use
+     *
+     * @param browser Browser name (chrome/firefox)
+     * @return Pool for the browser
+     */
+    public static DriverPool forBrowser(String browser) {
+        return POOLS.computeIfAbsent(browser.toLowerCase(), name -> new DriverPool(name,
+                Integer.getInteger("driver.pool.size", defaultSize),
+                Integer.getInteger("driver.pool.maxLeases", 50),
+                Long.getLong("driver.pool.leaseTimeoutSeconds", 300L)));
+    }
+
+    /**
+     * Leases a healthy browser session, starting a new one if none is idle
+     *
+     * @return WebDriver reserved for the caller until released
+     */
+    public WebDriver lease() {
+        try {
+            if (!permits.tryAcquire(leaseTimeoutSeconds, TimeUnit.SECONDS)) {
+                throw new IllegalStateException("Timed out waiting for a free " + browser + " session");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a " + browser + " session", e);
+        }
+
+        try {
+            PooledSession session;
+            while ((session = idle.pollFirst()) != null) {
+                if (isHealthy(session.driver)) {
+                    break;
+                }
+                logger.warn("Discarding unhealthy {} session", browser);
+                quitQuietly(session.driver);
+            }
+            if (session == null) {
+                logger.info("Starting new {} session", browser);
+                session = new PooledSession(DriverFactory.createDriver(browser));
+            }
+            session.leaseCount++;
+            leased.put(session.driver, session);
+            return session.driver;
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a session to the pool. The session is reset for the next lease,
+     * or quit if it reached the lease limit or could not be reset.
+     *
+     * @param driver WebDriver previously obtained from lease()
+     */
+    public void release(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            return;
+        }
+        try {
+            if (session.leaseCount >= maxLeases) {
+                logger.info("Recycling {} session after {} leases", browser, session.leaseCount);
+                quitQuietly(driver);
+            } else if (reset(driver)) {
+                idle.offerFirst(session);
+            } else {
+                logger.warn("Failed to reset {} session, recycling it", browser);
+                quitQuietly(driver);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Quits a leased session instead of returning it to the pool
+     *
+     * @param driver WebDriver previously obtained from lease()
+     */
+    public void invalidate(WebDriver driver) {
+        if (leased.remove(driver) != null) {
+            quitQuietly(driver);
+            permits.release();
+        }
+    }
+
+    /**
+     * Quits all idle sessions of this pool
+     */
+    public void shutdown() {
+        PooledSession session;
+        while ((session = idle.pollFirst()) != null) {
+            quitQuietly(session.driver);
+        }
+    }
+
+    /**
+     * Quits idle sessions of every pool
+     */
+    public static void shutdownAll() {
+        POOLS.values().forEach(DriverPool::shutdown);
+    }
+
+    /**
+     * Clears cookies and web storage, then navigates to a blank page
+     *
+     * @param driver WebDriver to reset
+     * @return true if reset succeeded
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            if (driver.getCurrentUrl().startsWith("http")) {
+                ((JavascriptExecutor) driver).executeScript(
+                        "window.localStorage.clear(); window.sessionStorage.clear();");
+            }
+            driver.manage().deleteAllCookies();
+            driver.get(BLANK_PAGE);
+            return true;
+        } catch (WebDriverException e) {
+            logger.debug("Session reset failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Checks that the browser session still responds
+     *
+     * @param driver WebDriver to check
+     * @return true if the session is alive
+     */
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void quitQuietly(WebDriver driver) {
+        SessionStore.forget(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            logger.debug("Ignoring error while quitting {} session: {}", browser, e.getMessage());
+        }
+    }
+}
@@ -1,109 +1,387 @@
 package com.selenium.test.utils;
 
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
-import java.io.FileInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+/**
+ * ExcelDataProvider supplies TestNG data providers with rows from the test data directory.
+ * Decoded sheets are cached per JVM (see TestDataCache), so many data providers
+ * over the same file pay the parsing cost once.
+ *
+ * A sheet is looked up as:
+ * 1. A file named after the sheet with a registered extension, e.g. Login.csv or Login.jsonl
+ * 2. Otherwise the sheet of the same name in TestData.xlsx
+ * The file is decoded by the TestDataSource registered for its extension,
+ * so tests get the same row Maps whichever format backs a sheet.
+ *
+ * Files larger than testdata.streaming.threshold bytes (default 5 MB) are streamed
+ * instead of decoded at once. For workbooks, a TestData.snapshot newer than the
+ * workbook is read instead of parsing the workbook at all.
+ */
 public class ExcelDataProvider {
+    private static final Logger logger = LoggerFactory.getLogger(ExcelDataProvider.class);
     private static final String TEST_DATA_FILENAME = "TestData.xlsx";
-    private static volatile Workbook workbook;
+    private static final long DEFAULT_STREAMING_THRESHOLD = 5L * 1024 * 1024;
+
+    private static volatile Map<String, TestDataSource> dataSources = defaultDataSources();
+
+    private static Map<String, TestDataSource> defaultDataSources() {
+        Map<String, TestDataSource> sources = new LinkedHashMap<>();
+        sources.put("csv", new CsvDataSource());
+        sources.put("jsonl", new JsonLinesDataSource());
+        sources.put("xlsx", new ExcelDataSource());
+        return Collections.unmodifiableMap(sources);
+    }
+
+    /**
+     * Registers a data source for a file extension, replacing any existing one
+     *
+     * @param extension File extension without dot, e.g. "tsv"
+     * @param source    Source that decodes files with this extension
+     */
+    public static synchronized void registerDataSource(String extension, TestDataSource source) {
+        Map<String, TestDataSource> sources = new LinkedHashMap<>(dataSources);
+        sources.put(extension.toLowerCase(Locale.ROOT), source);
+        dataSources = Collections.unmodifiableMap(sources);
+    }
 
     /**
-     * Gets test data from specified sheet
+     * Gets test data from specified sheet.
+     * When sharding is configured, only the rows of this JVM's shard are returned (see TestDataShard).
+     * In minimal mode, only one row per equivalence class is returned (see TestDataReduction).
      * 
      * @param sheetName Name of sheet to read
      * @return Object[][] containing test data as Maps
      */
     public static Object[][] getTestData(String sheetName) {
-        String testDataPath = System.getProperty("user.dir") + "/src/test/resources/testdata/" + TEST_DATA_FILENAME;
-        
-        try (FileInputStream fis = new FileInputStream(testDataPath)) {
-            workbook = new XSSFWorkbook(fis);
-            Sheet sheet = workbook.getSheet(sheetName);
-            if (sheet == null) {
-                throw new RuntimeException("Sheet '" + sheetName + "' not found in test data file");
+        return getSheet(sheetName).reduce(TestDataReduction.current()).forShard(TestDataShard.current())
+                .toDataProviderArray();
+    }
+
+    /**
+     * Gets test data from specified sheet with typed columns parsed at load time.
+     * Rows are DataRows, so tests can read parsed values with getInt, getDecimal,
+     * getBoolean or getDate instead of parsing strings in every test.
+     *
+     * @param sheetName    Name of sheet to read
+     * @param columnSchema Types of the columns to parse
+     * @return Object[][] containing test data as Maps
+     */
+    public static Object[][] getTestData(String sheetName, ColumnSchema columnSchema) {
+        return getSheet(sheetName).withColumnSchema(columnSchema).reduce(TestDataReduction.current())
+                .forShard(TestDataShard.current()).toDataProviderArray();
+    }
+
+    /**
+     * Gets test data from specified sheet as a lazy iterator.
+     * Large files are streamed in the background, so the first test can run while
+     * later rows are still being decoded and the sheet is never held in memory at once.
+     * Small or already cached sheets are served from the cache.
+     * When sharding is configured, rows of other shards are dropped while streaming;
+     * in minimal mode, so are repeated rows of an equivalence class.
+     *
+     * Memory stays bounded only if the data provider is sequential. TestNG reads a
+     * @DataProvider(parallel = true) iterator to the end and queues every row before
+     * running any, so a parallel provider should use getTestData instead.
+     *
+     * @param sheetName Name of sheet to read
+     * @return Iterator of single-element arrays containing a row Map
+     */
+    public static Iterator<Object[]> getTestDataIterator(String sheetName) {
+        TestDataShard shard = TestDataShard.current();
+        TestDataReduction reduction = TestDataReduction.current();
+        if (shouldStream(sheetName)) {
+            // Reduce before sharding so that every agent picks the same representatives
+            return streamRows(sheetName, reduction.newFilter(sheetName).and(shard::owns));
+        }
+        return toDataProviderIterator(getSheet(sheetName).reduce(reduction).forShard(shard).getRows().iterator());
+    }
+
+    /**
+     * Starts a query over a sheet, e.g. to select the rows of one test case:
+     * ExcelDataProvider.query("Login").where("testCase", "Locked Out User").toDataProviderArray()
+     * Queries return only the rows of this JVM's shard (see TestDataShard).
+     *
+     * @param sheetName Name of sheet to query
+     * @return Query selecting rows of the sheet
+     */
+    public static TestDataQuery query(String sheetName) {
+        return new TestDataQuery(sheetName);
+    }
+
+    /**
+     * Checks whether a sheet should be streamed instead of decoded into the cache:
+     * it is not cached yet and its data source prefers streaming (see TestDataSource.shouldStream)
+     *
+     * @param sheetName Sheet to read
+     * @return true if the sheet should be streamed
+     */
+    static boolean shouldStream(String sheetName) {
+        if (TestDataWatcher.current(sheetName) != null) {
+            return false;
+        }
+        Path file = resolveFile(sheetName);
+        return TestDataCache.peek(file, sheetName) == null && sourceFor(file).shouldStream(file);
+    }
+
+    /**
+     * Streams the rows of a sheet in the background
+     *
+     * @param sheetName Sheet to read
+     * @param filter    Rows to keep
+     * @return Iterator of single-element arrays containing a row Map
+     */
+    static Iterator<Object[]> streamRows(String sheetName, Predicate<? super DataRow> filter) {
+        Path file = resolveFile(sheetName);
+        return new StreamingRowIterator(sourceFor(file), file, sheetName, filter);
+    }
+
+    /**
+     * Wraps rows in the TestNG data provider iterator format
+     *
+     * @param rows Rows to wrap
+     * @return Iterator of single-element arrays containing a row Map
+     */
+    static Iterator<Object[]> toDataProviderIterator(Iterator<DataRow> rows) {
+        return new Iterator<Object[]>() {
+            @Override
+            public boolean hasNext() {
+                return rows.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                return new Object[] { rows.next() };
             }
-            return getSheetData(sheet);
+        };
+    }
+
+    /**
+     * Gets the decoded rows of a sheet
+     *
+     * @param sheetName Name of sheet to read
+     * @return Decoded sheet
+     */
+    public static SheetData getSheet(String sheetName) {
+        SheetData current = TestDataWatcher.current(sheetName);
+        if (current != null) {
+            return current;
+        }
+        Path file = resolveFile(sheetName);
+        SheetData sheet = decodeSheet(file, sheetName);
+        TestDataWatcher.publish(sheetName, file, sheet);
+        return sheet;
+    }
+
+    /**
+     * Decodes a sheet through the cache
+     *
+     * @param file      File backing the sheet
+     * @param sheetName Sheet to read
+     * @return Decoded sheet
+     */
+    static SheetData decodeSheet(Path file, String sheetName) {
+        TestDataSource source = sourceFor(file);
+        return TestDataCache.getSheet(file, sheetName, source.decodesAllSheets(file), source::loadSheets);
+    }
+
+    /**
+     * Watches the test data directory for long-running JVMs that execute suites repeatedly.
+     * Sheets are then served from memory, and edited files are decoded again in the
+     * background and swapped in once decoded (see TestDataWatcher).
+     */
+    public static void watchTestData() {
+        try {
+            TestDataWatcher.start(getTestDataDirectory());
         } catch (IOException e) {
-            throw new RuntimeException("Failed to read test data: " + e.getMessage(), e);
+            throw new RuntimeException("Failed to watch test data: " + e.getMessage(), e);
         }
     }
 
     /**
-     * Converts sheet data to Object array of Maps
-     * 
-     * @param sheet Sheet to read
-     * @return Object[][] containing row data as Maps
-     */
-    private static Object[][] getSheetData(Sheet sheet) {
-        List<Map<String, String>> data = new ArrayList<>();
-        Iterator<Row> rowIterator = sheet.iterator();
-
-        // Get header row for column names
-        Row headerRow = rowIterator.next();
-        List<String> headers = new ArrayList<>();
-        for (Cell cell : headerRow) {
-            headers.add(cell.getStringCellValue());
+     * Stops watching the test data directory
+     */
+    public static void stopWatchingTestData() {
+        TestDataWatcher.stop();
+    }
+
+    /**
+     * Decodes sheets into the cache ahead of time, e.g. at suite start, so data
+     * providers never block on parsing during execution.
+     * Sheets are decoded in parallel on a fork-join pool (testdata.preload.threads,
+     * default: available processors). Sheets of a small workbook share one task,
+     * since a single parse of the workbook already decodes all of them.
+     * Sheets that cannot be loaded are logged and skipped.
+     *
+     * @param sheetNames Sheets to preload, or empty for all available sheets
+     * @return Number of sheets available in the cache
+     */
+    public static int preloadSheets(Collection<String> sheetNames) {
+        long start = System.nanoTime();
+        Collection<String> names;
+        try {
+            names = sheetNames.isEmpty() ? getSheetNames() : sheetNames;
+        } catch (IOException e) {
+            logger.warn("Failed to list sheets for preloading: {}", e.getMessage());
+            return 0;
         }
 
-        // Read data rows
-        while (rowIterator.hasNext()) {
-            Row row = rowIterator.next();
-            Map<String, String> rowData = new HashMap<>();
+        Map<Path, List<String>> sheetsByFile = new LinkedHashMap<>();
+        for (String name : names) {
+            sheetsByFile.computeIfAbsent(resolveFile(name), file -> new ArrayList<>()).add(name);
+        }
 
-            // Read each cell in row
-            for (int i = 0; i < headers.size(); i++) {
-                Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
-                rowData.put(headers.get(i), getCellValueAsString(cell));
+        List<String> loaded = Collections.synchronizedList(new ArrayList<>());
+        List<ForkJoinTask<?>> tasks = new ArrayList<>();
+        sheetsByFile.forEach((file, fileSheets) -> {
+            if (Files.exists(file) && sourceFor(file).decodesAllSheets(file)) {
+                tasks.add(ForkJoinTask.adapt(() -> fileSheets.forEach(name -> preloadSheet(name, loaded))));
+            } else {
+                fileSheets.forEach(name -> tasks.add(ForkJoinTask.adapt(() -> preloadSheet(name, loaded))));
             }
-            data.add(rowData);
+        });
+
+        int threads = Integer.getInteger("testdata.preload.threads", Runtime.getRuntime().availableProcessors());
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            pool.submit(() -> ForkJoinTask.invokeAll(tasks)).join();
+        } finally {
+            pool.shutdown();
         }
 
-        // Convert to Object[][]
-        Object[][] result = new Object[data.size()][1];
-        for (int i = 0; i < data.size(); i++) {
-            result[i][0] = data.get(i);
+        logger.info("Preloaded {} of {} test data sheets in {} ms", loaded.size(), names.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        return loaded.size();
+    }
+
+    private static void preloadSheet(String sheetName, List<String> loaded) {
+        try {
+            getSheet(sheetName);
+            loaded.add(sheetName);
+        } catch (RuntimeException e) {
+            logger.warn("Skipping preload of sheet '{}': {}", sheetName, e.getMessage());
         }
-        return result;
     }
 
     /**
-     * Converts cell value to string regardless of cell type
-     * 
-     * @param cell Cell to read
-     * @return String value of cell
+     * Lists all sheets that can be read: the sheets of TestData.xlsx
+     * and one sheet per additional data file in the test data directory
+     *
+     * @return Sheet names
      */
-    private static String getCellValueAsString(Cell cell) {
-        if (cell == null) {
-            return "";
+    static Set<String> getSheetNames() throws IOException {
+        Set<String> names = new LinkedHashSet<>();
+        Path workbook = getTestDataPath();
+        if (Files.exists(workbook)) {
+            names.addAll(sourceFor(workbook).sheetNames(workbook));
+        }
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(getTestDataDirectory())) {
+            files = listing.filter(file -> dataSources.containsKey(extension(file)) && !file.equals(workbook))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            for (String name : sourceFor(file).sheetNames(file)) {
+                if (resolveFile(name).equals(file)) {
+                    names.add(name);
+                }
+            }
         }
+        return names;
+    }
 
-        try {
-            switch (cell.getCellType()) {
-                case STRING:
-                    return cell.getStringCellValue().trim();
-                case NUMERIC:
-                    if (DateUtil.isCellDateFormatted(cell)) {
-                        return cell.getDateCellValue().toString();
-                    }
-                    // Use DataFormatter to get string value without scientific notation
-                    DataFormatter formatter = new DataFormatter();
-                    return formatter.formatCellValue(cell).trim();
-                case BOOLEAN:
-                    return String.valueOf(cell.getBooleanCellValue());
-                case FORMULA:
-                    try {
-                        return String.valueOf(cell.getNumericCellValue());
-                    } catch (IllegalStateException e) {
-                        return cell.getStringCellValue();
-                    }
-                default:
-                    return "";
+    /**
+     * Finds the file backing a sheet: a file named after the sheet with a registered
+     * extension, or TestData.xlsx if there is none
+     *
+     * @param sheetName Sheet to read
+     * @return Path of the data file
+     */
+    static Path resolveFile(String sheetName) {
+        Path directory = getTestDataDirectory();
+        for (String extension : dataSources.keySet()) {
+            Path file = directory.resolve(sheetName + "." + extension);
+            if (Files.isRegularFile(file)) {
+                return file;
             }
-        } catch (Exception e) {
-            return "";
+        }
+        return getTestDataPath();
+    }
+
+    /**
+     * Gets the data source registered for the extension of a file
+     *
+     * @param file Data file
+     * @return Source that decodes the file
+     * @throws IllegalArgumentException if no source is registered for the extension
+     */
+    static TestDataSource sourceFor(Path file) {
+        TestDataSource source = dataSources.get(extension(file));
+        if (source == null) {
+            throw new IllegalArgumentException("No test data source registered for file: " + file);
+        }
+        return source;
+    }
+
+    /**
+     * Gets the file name without extension, e.g. "Login" for Login.csv
+     *
+     * @param file Data file
+     * @return Base name of the file
+     */
+    static String baseName(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    private static String extension(Path file) {
+        String fileName = file.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(dot + 1).toLowerCase(Locale.ROOT) : "";
+    }
+
+    /**
+     * Gets the directory holding test data files
+     *
+     * @return Path of src/test/resources/testdata
+     */
+    static Path getTestDataDirectory() {
+        return Paths.get(System.getProperty("user.dir"), "src", "test", "resources", "testdata");
+    }
+
+    /**
+     * Gets the location of the default test data file
+     *
+     * @return Path of TestData.xlsx
+     */
+    static Path getTestDataPath() {
+        return getTestDataDirectory().resolve(TEST_DATA_FILENAME);
+    }
+
+    /**
+     * Checks whether a file exceeds testdata.streaming.threshold
+     *
+     * @param file Data file to check
+     * @return true if the file should be streamed
+     */
+    static boolean isStreamingSize(Path file) {
+        long threshold = Long.getLong("testdata.streaming.threshold", DEFAULT_STREAMING_THRESHOLD);
+        try {
+            return Files.size(file) > threshold;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read test data: " + e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+}
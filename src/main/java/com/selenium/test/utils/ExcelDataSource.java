@@ -0,0 +1,106 @@
+package com.selenium.test.utils;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * ExcelDataSource reads sheets of .xlsx workbooks.
+ * It chooses how to decode a sheet:
+ * 1. A precompiled snapshot newer than the workbook (see TestDataSnapshot)
+ * 2. The streaming reader for files above testdata.streaming.threshold
+ * 3. The usermodel reader otherwise, which decodes all sheets in one parse
+ */
+final class ExcelDataSource implements TestDataSource {
+
+    @Override
+    public boolean read(Path file, String sheetName, RowHandler handler) throws IOException {
+        return StreamingExcelReader.read(file, sheetName, handler);
+    }
+
+    @Override
+    public List<String> sheetNames(Path file) throws IOException {
+        return StreamingExcelReader.sheetNames(file);
+    }
+
+    @Override
+    public Map<String, SheetData> loadSheets(Path file, String sheetName) throws IOException {
+        if (TestDataSnapshot.isFresh(file)) {
+            return TestDataSnapshot.load(file, sheetName);
+        }
+        if (!ExcelDataProvider.isStreamingSize(file)) {
+            return readWorkbook(file);
+        }
+        SheetData sheet = StreamingExcelReader.readSheet(file, sheetName);
+        return sheet == null ? Collections.emptyMap() : Collections.singletonMap(sheetName, sheet);
+    }
+
+    @Override
+    public boolean shouldStream(Path file) {
+        return !TestDataSnapshot.isFresh(file) && ExcelDataProvider.isStreamingSize(file);
+    }
+
+    @Override
+    public boolean decodesAllSheets(Path file) {
+        return !TestDataSnapshot.isFresh(file) && !ExcelDataProvider.isStreamingSize(file);
+    }
+
+    /**
+     * Parses a workbook once and decodes all of its sheets
+     *
+     * @param file Workbook to read
+     * @return Decoded sheets by name
+     */
+    static Map<String, SheetData> readWorkbook(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file);
+                Workbook workbook = new XSSFWorkbook(in)) {
+            Map<String, SheetData> sheets = new HashMap<>();
+            for (Sheet sheet : workbook) {
+                sheets.put(sheet.getSheetName(), getSheetData(sheet));
+            }
+            return sheets;
+        }
+    }
+
+    /**
+     * Converts sheet data to a list of rows sharing one schema
+     * 
+     * @param sheet Sheet to read
+     * @return SheetData containing row data as Maps
+     */
+    private static SheetData getSheetData(Sheet sheet) {
+        List<DataRow> data = new ArrayList<>();
+        Iterator<Row> rowIterator = sheet.iterator();
+        List<String> headers = new ArrayList<>();
+        StringInterner interner = new StringInterner();
+        CellConverter converter = CellConverter.forWorkbook(sheet.getWorkbook());
+
+        // Get header row for column names
+        if (rowIterator.hasNext()) {
+            Row headerRow = rowIterator.next();
+            for (Cell cell : headerRow) {
+                headers.add(converter.toString(cell));
+            }
+        }
+
+        // Read data rows
+        RowSchema schema = new RowSchema(headers);
+        while (rowIterator.hasNext()) {
+            Row row = rowIterator.next();
+            String[] values = new String[headers.size()];
+
+            // Read each cell in row
+            for (int i = 0; i < headers.size(); i++) {
+                Cell cell = row.getCell(i, Row.MissingCellPolicy.CREATE_NULL_AS_BLANK);
+                values[i] = interner.intern(converter.toString(cell));
+            }
+            data.add(schema.newRow(values));
+        }
+
+        return new SheetData(sheet.getSheetName(), schema, data);
+    }
+}
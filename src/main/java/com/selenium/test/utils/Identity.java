@@ -0,0 +1,41 @@
+package com.selenium.test.utils;
+
+/**
+ * Identity holds the account details used by one registration test.
+ * Instances are immutable and handed out by IdentityPool.
+ */
+public final class Identity {
+    private final String username;
+    private final String email;
+    private final String password;
+
+    /**
+     * Creates an identity
+     *
+     * @param username Username, also used as first and last name on the register page
+     * @param email    Email address
+     * @param password Password
+     */
+    public Identity(String username, String email, String password) {
+        this.username = username;
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
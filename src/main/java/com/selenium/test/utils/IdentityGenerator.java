@@ -0,0 +1,181 @@
+package com.selenium.test.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.security.SecureRandom;
+import java.util.SplittableRandom;
+
+/**
+ * IdentityGenerator creates usernames, emails and passwords for parallel registration tests.
+ * Features:
+ * 1. Values are drawn from stripes: a SplittableRandom and a sequence counter owned by one caller,
+ *    so callers never contend on one RNG
+ * 2. A stripe is selected by a caller-supplied index (e.g. the shard index), never by the order
+ *    in which threads arrive; the same seed (testdata.seed) and index reproduce the same values
+ * 3. Names carry a sequence that is unique without locks: a run ID, the stripe index
+ *    and a counter owned by the stripe
+ *
+ * Run IDs (testdata.runId) are random by default, so separate runs and JVMs
+ * do not collide on accounts created earlier.
+ */
+public final class IdentityGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(IdentityGenerator.class);
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
+    private static final String NUMBERS = "0123456789";
+    private static final String SPECIAL = "!@#$%^&*";
+    private static final String ALL_CHARS = LETTERS + NUMBERS + SPECIAL;
+
+    private static volatile IdentityGenerator shared;
+
+    private final long seed;
+    private final String runId;
+
+    /**
+     * Creates a generator
+     *
+     * @param seed  Seed of the random streams
+     * @param runId Identifier included in every name, unique per run
+     */
+    public IdentityGenerator(long seed, String runId) {
+        this.seed = seed;
+        this.runId = runId;
+    }
+
+    /**
+     * Gets the generator shared by this JVM, configured by the system properties
+     * testdata.seed and testdata.runId (both random if not set)
+     *
+     * @return Shared generator
+     */
+    public static IdentityGenerator shared() {
+        IdentityGenerator generator = shared;
+        if (generator == null) {
+            synchronized (IdentityGenerator.class) {
+                generator = shared;
+                if (generator == null) {
+                    SecureRandom secureRandom = new SecureRandom();
+                    long seed = Long.getLong("testdata.seed", secureRandom.nextLong());
+                    String runId = System.getProperty("testdata.runId",
+                            Long.toString(secureRandom.nextInt(Integer.MAX_VALUE), 36));
+                    generator = new IdentityGenerator(seed, runId);
+                    logger.info("Identity generator seed {} and run ID {} (set testdata.seed and testdata.runId "
+                            + "to reproduce)", seed, runId);
+                    shared = generator;
+                }
+            }
+        }
+        return generator;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public String getRunId() {
+        return runId;
+    }
+
+    /**
+     * Creates the stripe with the given index. Each call starts the stripe over,
+     * so the values depend only on the seed, the run ID and the index.
+     *
+     * @param index Stable index chosen by the caller, e.g. a shard or row index
+     * @return New stripe; must not be shared with other threads
+     */
+    public Stripe stripe(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Stripe index must not be negative: " + index);
+        }
+        // Spread stripe indexes over the seed space like SplittableRandom.split does
+        SplittableRandom random = new SplittableRandom(seed + (index + 1) * GOLDEN_GAMMA);
+        return new Stripe(random, runId + "_" + Integer.toString(index, 36) + "_");
+    }
+
+    /**
+     * Random stream and sequence counter owned by one caller
+     */
+    public static final class Stripe {
+        private final SplittableRandom random;
+        private final String prefix;
+        private long counter;
+
+        private Stripe(SplittableRandom random, String prefix) {
+            this.random = random;
+            this.prefix = prefix;
+        }
+
+        /**
+         * Gets the random stream of this stripe
+         *
+         * @return Random stream
+         */
+        public SplittableRandom random() {
+            return random;
+        }
+
+        /**
+         * Gets the next unique sequence token, e.g. "k2x9f_3_1a"
+         *
+         * @return Token unique within this run ID
+         */
+        public String nextSequence() {
+            return prefix + Long.toString(counter++, 36);
+        }
+
+        /**
+         * Generates a unique username
+         * Format: "testuser_" followed by the sequence token
+         *
+         * @return Username
+         */
+        public String username() {
+            return "testuser_" + nextSequence();
+        }
+
+        /**
+         * Generates a unique email address
+         * Format: username@testdomain.com
+         *
+         * @return Email address
+         */
+        public String email() {
+            return username() + "@testdomain.com";
+        }
+
+        /**
+         * Generates a random password.
+         * Rules:
+         * - 8 characters
+         * - Contains letters and numbers
+         * - Contains at least one special character
+         *
+         * @return Password
+         */
+        public String password() {
+            StringBuilder password = new StringBuilder(8);
+
+            // Add at least one character from each required type
+            password.append(LETTERS.charAt(random.nextInt(LETTERS.length())));
+            password.append(NUMBERS.charAt(random.nextInt(NUMBERS.length())));
+            password.append(SPECIAL.charAt(random.nextInt(SPECIAL.length())));
+
+            // Add 5 more random characters
+            for (int i = 0; i < 5; i++) {
+                password.append(ALL_CHARS.charAt(random.nextInt(ALL_CHARS.length())));
+            }
+            return password.toString();
+        }
+
+        /**
+         * Generates one identity with a unique username and email
+         *
+         * @return New identity
+         */
+        public Identity identity() {
+            String username = username();
+            return new Identity(username, username + "@testdomain.com", password());
+        }
+    }
+}
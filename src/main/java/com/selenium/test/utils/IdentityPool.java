@@ -0,0 +1,177 @@
+package com.selenium.test.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * IdentityPool hands out pre-generated identities to registration tests.
+ * Features:
+ * 1. Identities are generated ahead of time (at suite start or from a file written
+ *    by TestDataGenerator), so tests only take an entry from a queue
+ * 2. Leasing is lock-free (ConcurrentLinkedQueue); when the pool falls below a quarter
+ *    of its size, one background thread refills it
+ * 3. Identities come from one IdentityGenerator stripe in a fixed order (stripe index is the
+ *    shard index), so the same testdata.seed and testdata.runId produce the same identities
+ * 4. Replay: identities.file loads identities in file order instead of generating them,
+ *    and identities.record appends every leased identity to a file in the same format,
+ *    so a recorded run can be replayed with the exact same accounts
+ *
+ * Settings (system properties): identities.poolSize (default 256), identities.file, identities.record
+ */
+public final class IdentityPool {
+    private static final Logger logger = LoggerFactory.getLogger(IdentityPool.class);
+    private static final int DEFAULT_POOL_SIZE = 256;
+
+    private static volatile IdentityPool shared;
+
+    private final Queue<Identity> identities = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger available = new AtomicInteger();
+    private final AtomicBoolean refilling = new AtomicBoolean();
+    private final int poolSize;
+    private final IdentityGenerator.Stripe stripe;
+    private final Path recordFile;
+    private final ExecutorService refiller = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "identity-pool-refill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Creates a pool and fills it
+     *
+     * @param poolSize   Number of identities kept ready
+     * @param stripe     Stripe new identities are generated from; owned by this pool
+     * @param replay     Identities to hand out first, in order (may be empty)
+     * @param recordFile File to append leased identities to, or null
+     */
+    public IdentityPool(int poolSize, IdentityGenerator.Stripe stripe, List<Identity> replay, Path recordFile) {
+        this.poolSize = poolSize;
+        this.stripe = stripe;
+        this.recordFile = recordFile;
+        identities.addAll(replay);
+        available.addAndGet(replay.size());
+        if (replay.isEmpty()) {
+            refill();
+        }
+    }
+
+    /**
+     * Gets the pool shared by this JVM, configured by the identities.* system properties
+     *
+     * @return Shared pool
+     */
+    public static IdentityPool shared() {
+        IdentityPool pool = shared;
+        if (pool == null) {
+            synchronized (IdentityPool.class) {
+                pool = shared;
+                if (pool == null) {
+                    String replayFile = System.getProperty("identities.file");
+                    String recordFile = System.getProperty("identities.record");
+                    List<Identity> replay = replayFile == null ? Collections.emptyList()
+                            : TestDataGenerator.readIdentities(Paths.get(replayFile));
+                    if (replayFile != null) {
+                        logger.info("Replaying {} identities from {}", replay.size(), replayFile);
+                    }
+                    // Shards generate from different stripes, so agents sharing a run ID never collide
+                    IdentityGenerator.Stripe stripe = IdentityGenerator.shared()
+                            .stripe(TestDataShard.current().getIndex());
+                    pool = new IdentityPool(Integer.getInteger("identities.poolSize", DEFAULT_POOL_SIZE), stripe,
+                            replay, recordFile == null ? null : Paths.get(recordFile));
+                    shared = pool;
+                }
+            }
+        }
+        return pool;
+    }
+
+    /**
+     * Takes an identity out of the pool; each identity is leased once
+     *
+     * @return Identity for one registration
+     */
+    public Identity lease() {
+        Identity identity = identities.poll();
+        if (identity != null) {
+            if (available.decrementAndGet() < poolSize / 4) {
+                scheduleRefill();
+            }
+        } else {
+            // Pool drained faster than the refill: generate on the calling thread
+            scheduleRefill();
+            identity = generate(1).get(0);
+        }
+        if (recordFile != null) {
+            record(identity);
+        }
+        return identity;
+    }
+
+    /**
+     * Gets the number of identities ready to be leased
+     *
+     * @return Available identities
+     */
+    public int available() {
+        return available.get();
+    }
+
+    private void scheduleRefill() {
+        if (refilling.compareAndSet(false, true)) {
+            refiller.execute(() -> {
+                try {
+                    refill();
+                } finally {
+                    refilling.set(false);
+                }
+            });
+        }
+    }
+
+    private void refill() {
+        int missing = poolSize - available.get();
+        if (missing > 0) {
+            identities.addAll(generate(missing));
+            available.addAndGet(missing);
+        }
+    }
+
+    private List<Identity> generate(int count) {
+        // The stripe is not thread-safe; the lock is only contended when the pool runs dry
+        synchronized (stripe) {
+            return TestDataGenerator.generateIdentities(stripe, count);
+        }
+    }
+
+    private void record(Identity identity) {
+        String line = TestDataGenerator.toIdentityLine(identity) + System.lineSeparator();
+        // Recording is a debugging aid; serialize writes so lines never interleave
+        synchronized (this) {
+            try {
+                if (Files.notExists(recordFile)) {
+                    Files.write(recordFile, (TestDataGenerator.IDENTITY_HEADER + System.lineSeparator())
+                            .getBytes(StandardCharsets.UTF_8));
+                }
+                Files.write(recordFile, line.getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to record identity: " + e.getMessage(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.selenium.test.utils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * JsonLinesDataSource reads a sheet from a JSON Lines file, one sheet per file
+ * and one flat JSON object per line:
+ *
+ * {"testCase": "Valid Login", "username": "standard_user", "password": "secret_sauce"}
+ *
+ * Features:
+ * 1. The file is read line by line through a FileChannel, so large files are streamed
+ * 2. The keys of the first object are the headers, in order
+ * 3. Strings are unescaped, numbers and booleans keep their literal text, null is empty
+ * 4. Missing keys are empty values; unknown keys and nested values are rejected
+ *    so that no data is silently dropped
+ * 5. Keys and values are trimmed like workbook cells, so a sheet gives the same
+ *    rows whether it is stored as JSON Lines or in TestData.xlsx
+ */
+final class JsonLinesDataSource implements TestDataSource {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    @Override
+    public boolean read(Path file, String sheetName, RowHandler handler) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+                BufferedReader reader = new BufferedReader(
+                        Channels.newReader(channel, StandardCharsets.UTF_8.newDecoder(), BUFFER_SIZE))) {
+            RowSchema schema = null;
+            List<String> keys = new ArrayList<>();
+            List<String> values = new ArrayList<>();
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && line.startsWith("\uFEFF")) {
+                    line = line.substring(1);
+                }
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                keys.clear();
+                values.clear();
+                new ObjectParser(line, file, lineNumber).parse(keys, values);
+                keys.replaceAll(String::trim);
+                values.replaceAll(String::trim);
+
+                if (schema == null) {
+                    schema = new RowSchema(new ArrayList<>(keys));
+                    handler.headers(schema.getHeaders());
+                }
+                String[] row = new String[schema.getHeaders().size()];
+                for (int i = 0; i < keys.size(); i++) {
+                    int column = schema.indexOf(keys.get(i));
+                    if (column < 0) {
+                        throw new IOException("Unknown column '" + keys.get(i) + "' at line " + lineNumber
+                                + " of " + file);
+                    }
+                    row[column] = values.get(i);
+                }
+                for (int i = 0; i < row.length; i++) {
+                    if (row[i] == null) {
+                        row[i] = "";
+                    }
+                }
+                handler.row(row);
+            }
+            if (schema == null) {
+                handler.headers(Collections.emptyList());
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public List<String> sheetNames(Path file) {
+        return Collections.singletonList(ExcelDataProvider.baseName(file));
+    }
+
+    /**
+     * Parses one line holding a flat JSON object
+     */
+    private static final class ObjectParser {
+        private final String text;
+        private final Path file;
+        private final int lineNumber;
+        private final StringBuilder buffer = new StringBuilder();
+        private int position;
+
+        private ObjectParser(String text, Path file, int lineNumber) {
+            this.text = text;
+            this.file = file;
+            this.lineNumber = lineNumber;
+        }
+
+        private void parse(List<String> keys, List<String> values) throws IOException {
+            expect('{');
+            if (peek() == '}') {
+                position++;
+            } else {
+                do {
+                    keys.add(string());
+                    expect(':');
+                    values.add(value());
+                } while (consume(','));
+                expect('}');
+            }
+            if (peek() != -1) {
+                throw error("Unexpected content after object");
+            }
+        }
+
+        private String value() throws IOException {
+            int c = peek();
+            if (c == '"') {
+                return string();
+            }
+            if (c == '{' || c == '[') {
+                throw error("Nested values are not supported");
+            }
+            int start = position;
+            while (position < text.length() && ",}".indexOf(text.charAt(position)) < 0
+                    && !Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            String literal = text.substring(start, position);
+            if (literal.isEmpty()) {
+                throw error("Missing value");
+            }
+            return "null".equals(literal) ? "" : literal;
+        }
+
+        private String string() throws IOException {
+            expect('"');
+            buffer.setLength(0);
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return buffer.toString();
+                }
+                if (c != '\\') {
+                    buffer.append(c);
+                    continue;
+                }
+                if (position >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(position++);
+                switch (escaped) {
+                    case 'b':
+                        buffer.append('\b');
+                        break;
+                    case 'f':
+                        buffer.append('\f');
+                        break;
+                    case 'n':
+                        buffer.append('\n');
+                        break;
+                    case 'r':
+                        buffer.append('\r');
+                        break;
+                    case 't':
+                        buffer.append('\t');
+                        break;
+                    case 'u':
+                        if (position + 4 > text.length()) {
+                            throw error("Invalid unicode escape");
+                        }
+                        try {
+                            buffer.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw error("Invalid unicode escape");
+                        }
+                        position += 4;
+                        break;
+                    default:
+                        buffer.append(escaped);
+                        break;
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private void expect(char expected) throws IOException {
+            if (peek() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+            position++;
+        }
+
+        private boolean consume(char expected) {
+            if (peek() == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Skips whitespace and returns the next character without consuming it
+         */
+        private int peek() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+            return position < text.length() ? text.charAt(position) : -1;
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " at line " + lineNumber + ", column " + (position + 1)
+                    + " of " + file);
+        }
+    }
+}
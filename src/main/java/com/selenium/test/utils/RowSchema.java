@@ -0,0 +1,83 @@
+package com.selenium.test.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RowSchema is the header of a sheet, shared by all of its DataRows.
+ * It maps each column name to its position once, so rows only need to
+ * store their values.
+ */
+public final class RowSchema {
+    private final List<String> headers;
+    private final Map<String, Integer> index;
+    private final int[] columns;
+
+    /**
+     * Creates a schema from a header row
+     *
+     * @param headers Column names in sheet order
+     */
+    public RowSchema(List<String> headers) {
+        this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+        this.index = new HashMap<>();
+        for (int i = 0; i < headers.size(); i++) {
+            // Like a HashMap row, a repeated header keeps the value of its last column
+            index.put(headers.get(i), i);
+        }
+        this.columns = new int[index.size()];
+        int next = 0;
+        for (int i = 0; i < headers.size(); i++) {
+            if (index.get(headers.get(i)) == i) {
+                columns[next++] = i;
+            }
+        }
+    }
+
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Gets the column position of a header
+     *
+     * @param header Column name
+     * @return Column index or -1 if the header does not exist
+     */
+    public int indexOf(Object header) {
+        Integer position = index.get(header);
+        return position == null ? -1 : position;
+    }
+
+    /**
+     * Gets the number of distinct keys a row exposes
+     *
+     * @return Distinct header count
+     */
+    int keyCount() {
+        return columns.length;
+    }
+
+    /**
+     * Gets the column backing the n-th distinct key
+     *
+     * @param n Key position
+     * @return Column index
+     */
+    int keyColumn(int n) {
+        return columns[n];
+    }
+
+    /**
+     * Creates a row over this schema
+     *
+     * @param values Cell values aligned with the headers
+     * @return Immutable row
+     */
+    public DataRow newRow(String[] values) {
+        return new DataRow(this, values);
+    }
+}
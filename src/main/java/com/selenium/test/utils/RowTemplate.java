@@ -0,0 +1,88 @@
+package com.selenium.test.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * RowTemplate produces the cell values of generated test data rows.
+ * Used by TestDataGenerator's bulk mode to write rows one at a time.
+ *
+ * Inline templates are written as column=pattern pairs separated by semicolons,
+ * where {n} is replaced by the 1-based row number:
+ *
+ * testCase=Login {n};username=user_{n};password=secret_sauce;expectedResult=success
+ */
+public interface RowTemplate {
+
+    /**
+     * Gets the column names written as the header row
+     *
+     * @return Column names
+     */
+    List<String> headers();
+
+    /**
+     * Fills the values of one row
+     *
+     * @param rowNumber 1-based row number
+     * @param values    Array with one slot per header to fill
+     */
+    void fill(long rowNumber, String[] values);
+
+    /**
+     * Parses an inline template
+     *
+     * @param spec Template such as "username=user_{n};password=secret_sauce"
+     * @return Template writing the given columns
+     * @throws IllegalArgumentException if a column has no pattern
+     */
+    static RowTemplate parse(String spec) {
+        List<String> headers = new ArrayList<>();
+        List<String[]> patterns = new ArrayList<>();
+        for (String column : spec.split(";")) {
+            if (column.trim().isEmpty()) {
+                continue;
+            }
+            int equals = column.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Template column must be name=pattern: " + column);
+            }
+            headers.add(column.substring(0, equals).trim());
+            // Split once so rows are built by concatenation: literal parts around each {n}
+            patterns.add(column.substring(equals + 1).split("\\{n\\}", -1));
+        }
+        if (headers.isEmpty()) {
+            throw new IllegalArgumentException("Template has no columns: " + spec);
+        }
+
+        List<String> columnNames = Collections.unmodifiableList(headers);
+        String[][] parts = patterns.toArray(new String[0][]);
+        return new RowTemplate() {
+            private final StringBuilder value = new StringBuilder();
+
+            @Override
+            public List<String> headers() {
+                return columnNames;
+            }
+
+            @Override
+            public void fill(long rowNumber, String[] values) {
+                String number = Long.toString(rowNumber);
+                for (int column = 0; column < parts.length; column++) {
+                    String[] literals = parts[column];
+                    if (literals.length == 1) {
+                        values[column] = literals[0];
+                        continue;
+                    }
+                    value.setLength(0);
+                    value.append(literals[0]);
+                    for (int i = 1; i < literals.length; i++) {
+                        value.append(number).append(literals[i]);
+                    }
+                    values[column] = value.toString();
+                }
+            }
+        };
+    }
+}
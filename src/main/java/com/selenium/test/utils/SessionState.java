@@ -0,0 +1,130 @@
+package com.selenium.test.utils;
+
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * SessionState holds the cookies and local storage of an authenticated browser session.
+ * Captured once after a UI login, it can be restored into a new or reset session
+ * so that tests needing a logged-in user skip the login form.
+ *
+ * Cookies can only be set on a page of their origin, so restore first opens a lightweight
+ * page of the origin (session.bootstrapPath, default /favicon.ico) unless the browser is already there.
+ * The cookies and local storage already on that origin are removed first, so restoring one user
+ * after another never leaves a mixed session.
+ */
+public final class SessionState {
+    private static final String BOOTSTRAP_PATH = System.getProperty("session.bootstrapPath", "/favicon.ico");
+    private static final String READ_STORAGE_SCRIPT =
+            "var items = {};"
+            + "for (var i = 0; i < window.localStorage.length; i++) {"
+            + "  var key = window.localStorage.key(i);"
+            + "  items[key] = window.localStorage.getItem(key);"
+            + "}"
+            + "return items;";
+    private static final String WRITE_STORAGE_SCRIPT =
+            "var items = arguments[0];"
+            + "window.localStorage.clear();"
+            + "for (var key in items) { window.localStorage.setItem(key, items[key]); }";
+
+    private final String origin;
+    private final Set<Cookie> cookies;
+    private final Map<String, String> localStorage;
+
+    private SessionState(String origin, Set<Cookie> cookies, Map<String, String> localStorage) {
+        this.origin = origin;
+        this.cookies = Collections.unmodifiableSet(new LinkedHashSet<>(cookies));
+        this.localStorage = Collections.unmodifiableMap(new LinkedHashMap<>(localStorage));
+    }
+
+    /**
+     * Captures the session of the page currently open
+     *
+     * @param driver WebDriver with an authenticated page open
+     * @return Captured session
+     */
+    public static SessionState capture(WebDriver driver) {
+        Map<String, String> storage = new LinkedHashMap<>();
+        Object items = ((JavascriptExecutor) driver).executeScript(READ_STORAGE_SCRIPT);
+        if (items instanceof Map) {
+            for (Map.Entry<?, ?> item : ((Map<?, ?>) items).entrySet()) {
+                storage.put(item.getKey().toString(), String.valueOf(item.getValue()));
+            }
+        }
+        return new SessionState(originOf(driver.getCurrentUrl()), driver.manage().getCookies(), storage);
+    }
+
+    /**
+     * Gets the scheme, host and port of a URL
+     *
+     * @param url Absolute URL
+     * @return Origin, e.g. "https://www.saucedemo.com"
+     */
+    static String originOf(String url) {
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getHost() + (uri.getPort() < 0 ? "" : ":" + uri.getPort());
+    }
+
+    public String getOrigin() {
+        return origin;
+    }
+
+    public Set<Cookie> getCookies() {
+        return cookies;
+    }
+
+    public Map<String, String> getLocalStorage() {
+        return localStorage;
+    }
+
+    /**
+     * Checks whether a cookie of this session has expired, so the session must be captured again
+     *
+     * @return true if any cookie has expired
+     */
+    public boolean isExpired() {
+        Date now = new Date();
+        for (Cookie cookie : cookies) {
+            if (cookie.getExpiry() != null && cookie.getExpiry().before(now)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Restores this session into a browser, replacing the cookies and local storage
+     * of its origin, and opens the target page
+     *
+     * @param driver    WebDriver to restore into, e.g. a new or reset pooled session
+     * @param targetUrl Page to open once the session is restored
+     */
+    public void restore(WebDriver driver, String targetUrl) {
+        String currentUrl = driver.getCurrentUrl();
+        if (currentUrl == null || !currentUrl.startsWith(origin + "/")) {
+            driver.get(origin + BOOTSTRAP_PATH);
+        }
+        // Replace, not merge: state of the previous user must not survive
+        driver.manage().deleteAllCookies();
+        for (Cookie cookie : cookies) {
+            driver.manage().addCookie(cookie);
+        }
+        ((JavascriptExecutor) driver).executeScript(WRITE_STORAGE_SCRIPT, localStorage);
+        driver.get(targetUrl);
+    }
+
+    @Override
+    public String toString() {
+        return "session of " + origin + " with " + cookies.size() + " cookies and " + localStorage.size()
+                + " storage items";
+    }
+}
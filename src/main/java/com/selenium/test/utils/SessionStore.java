@@ -0,0 +1,94 @@
+package com.selenium.test.utils;
+
+import org.openqa.selenium.WebDriver;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SessionStore keeps the captured sessions of each browser session by username.
+ * Each pooled browser logs in through the UI once per user and restores the captured
+ * session afterwards (see LoginPage.loginWithSession), whichever thread leases it.
+ * Sessions are not shared between browsers, so parallel tests never use the same
+ * server-side session. DriverPool forgets the sessions of a browser when it quits it,
+ * so the store never outgrows the pool.
+ *
+ * Reuse can be turned off with -Dsession.reuse=false, e.g. to debug login issues.
+ */
+public final class SessionStore {
+    private static final Map<WebDriver, Map<String, SessionState>> SESSIONS = new ConcurrentHashMap<>();
+
+    private SessionStore() {
+    }
+
+    /**
+     * Checks whether captured sessions should be reused
+     *
+     * @return false if session.reuse is set to false
+     */
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty("session.reuse", "true"));
+    }
+
+    /**
+     * Gets the session a browser captured for a user
+     *
+     * @param driver   Browser the session was captured in
+     * @param username User name
+     * @return Session, or null if none was captured, it has expired or reuse is disabled
+     */
+    public static SessionState get(WebDriver driver, String username) {
+        if (!isEnabled()) {
+            return null;
+        }
+        Map<String, SessionState> sessions = SESSIONS.get(driver);
+        SessionState session = sessions == null ? null : sessions.get(username);
+        if (session != null && session.isExpired()) {
+            sessions.remove(username);
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * Stores a session captured in a browser
+     *
+     * @param driver   Browser the session was captured in
+     * @param username User name
+     * @param session  Captured session
+     */
+    public static void put(WebDriver driver, String username, SessionState session) {
+        if (isEnabled()) {
+            SESSIONS.computeIfAbsent(driver, d -> new ConcurrentHashMap<>()).put(username, session);
+        }
+    }
+
+    /**
+     * Forgets the session of a user in a browser, e.g. after the server rejected it
+     *
+     * @param driver   Browser the session was captured in
+     * @param username User name
+     */
+    public static void invalidate(WebDriver driver, String username) {
+        Map<String, SessionState> sessions = SESSIONS.get(driver);
+        if (sessions != null) {
+            sessions.remove(username);
+        }
+    }
+
+    /**
+     * Forgets all sessions of a browser, e.g. when it is quit
+     *
+     * @param driver Browser
+     */
+    public static void forget(WebDriver driver) {
+        SESSIONS.remove(driver);
+    }
+
+    /**
+     * Forgets all sessions
+     */
+    public static void clear() {
+        SESSIONS.clear();
+    }
+}
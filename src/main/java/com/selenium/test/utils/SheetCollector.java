@@ -0,0 +1,34 @@
+package com.selenium.test.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Collects streamed rows into DataRows sharing one schema
+ */
+final class SheetCollector implements TestDataSource.RowHandler {
+    private final StringInterner interner = new StringInterner();
+    private final List<DataRow> rows = new ArrayList<>();
+    private RowSchema schema = new RowSchema(Collections.emptyList());
+
+    @Override
+    public void headers(List<String> headers) {
+        this.schema = new RowSchema(headers);
+    }
+
+    @Override
+    public void row(String[] values) {
+        rows.add(schema.newRow(interner.internAll(values)));
+    }
+
+    /**
+     * Creates the decoded sheet from the collected rows
+     *
+     * @param sheetName Sheet name
+     * @return Decoded sheet
+     */
+    SheetData toSheetData(String sheetName) {
+        return new SheetData(sheetName, schema, rows);
+    }
+}
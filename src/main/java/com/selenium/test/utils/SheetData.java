@@ -0,0 +1,174 @@
+package com.selenium.test.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SheetData holds the decoded rows of one test data sheet.
+ * Instances are immutable so they can be cached and shared between
+ * data providers running on different threads. All rows share one RowSchema.
+ */
+public final class SheetData {
+    private final String name;
+    private final RowSchema schema;
+    private final List<DataRow> rows;
+    private final Map<ColumnSchema, SheetData> typedViews = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, List<DataRow>>> indexes = new ConcurrentHashMap<>();
+    private final Map<TestDataShard, SheetData> shardViews = new ConcurrentHashMap<>();
+    private final Map<TestDataReduction, SheetData> reducedViews = new ConcurrentHashMap<>();
+
+    /**
+     * Creates decoded sheet data
+     *
+     * @param name   Sheet name
+     * @param schema Header lookup shared by the rows
+     * @param rows   Data rows
+     */
+    public SheetData(String name, RowSchema schema, List<DataRow> rows) {
+        this.name = name;
+        this.schema = schema;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public RowSchema getSchema() {
+        return schema;
+    }
+
+    public List<String> getHeaders() {
+        return schema.getHeaders();
+    }
+
+    public List<DataRow> getRows() {
+        return rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Finds rows by exact column value.
+     * The index for a column is built on first use and reused afterwards.
+     *
+     * @param column Column name, e.g. "testCase" or "username"
+     * @param value  Value to match
+     * @return Matching rows in sheet order, empty if none or the column does not exist
+     */
+    public List<DataRow> findAll(String column, String value) {
+        return indexes.computeIfAbsent(column, this::buildIndex).getOrDefault(value, Collections.emptyList());
+    }
+
+    private Map<String, List<DataRow>> buildIndex(String column) {
+        int position = schema.indexOf(column);
+        if (position < 0) {
+            return Collections.emptyMap();
+        }
+        Map<String, List<DataRow>> index = new HashMap<>();
+        for (DataRow row : rows) {
+            index.computeIfAbsent(row.get(position), key -> new ArrayList<>(1)).add(row);
+        }
+        index.replaceAll((key, matches) -> Collections.unmodifiableList(matches));
+        return index;
+    }
+
+    /**
+     * Gets this sheet with typed columns parsed once.
+     * The result is cached per schema, so repeated calls do not parse again.
+     *
+     * @param columnSchema Types of the columns to parse
+     * @return Sheet whose rows carry parsed values
+     * @throws IllegalArgumentException if a value does not match its declared type
+     */
+    public SheetData withColumnSchema(ColumnSchema columnSchema) {
+        if (columnSchema.isEmpty()) {
+            return this;
+        }
+        return typedViews.computeIfAbsent(columnSchema, this::parseColumns);
+    }
+
+    private SheetData parseColumns(ColumnSchema columnSchema) {
+        List<String> headers = schema.getHeaders();
+        ColumnType[] types = new ColumnType[headers.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = columnSchema.typeOf(headers.get(i));
+        }
+
+        List<DataRow> typedRows = new ArrayList<>(rows.size());
+        for (int row = 0; row < rows.size(); row++) {
+            DataRow source = rows.get(row);
+            Object[] parsed = new Object[types.length];
+            for (int column = 0; column < types.length; column++) {
+                if (types[column] != null) {
+                    try {
+                        parsed[column] = types[column].parse(source.get(column));
+                    } catch (IllegalArgumentException e) {
+                        // Row numbers are 1-based and count the header row, as in Excel
+                        throw new IllegalArgumentException(String.format("%s in sheet '%s', column '%s', row %d",
+                                e.getMessage(), name, headers.get(column), row + 2), e);
+                    }
+                }
+            }
+            typedRows.add(source.withTypedValues(parsed));
+        }
+        return new SheetData(name, schema, typedRows);
+    }
+
+    /**
+     * Gets the rows of this sheet owned by a shard.
+     * The result is cached per shard, so the rows are filtered once.
+     *
+     * @param shard Shard of this JVM
+     * @return Sheet with the rows of the shard
+     */
+    public SheetData forShard(TestDataShard shard) {
+        if (shard.isAll()) {
+            return this;
+        }
+        return shardViews.computeIfAbsent(shard, this::filterShard);
+    }
+
+    private SheetData filterShard(TestDataShard shard) {
+        List<DataRow> owned = new ArrayList<>();
+        for (DataRow row : rows) {
+            if (shard.owns(row)) {
+                owned.add(row);
+            }
+        }
+        return new SheetData(name, schema, owned);
+    }
+
+    /**
+     * Gets the rows of this sheet selected by a reduction, e.g. one row per equivalence class.
+     * The result is cached per reduction, so the classes are computed once.
+     *
+     * @param reduction Reduction of this JVM
+     * @return Sheet with the selected rows
+     */
+    public SheetData reduce(TestDataReduction reduction) {
+        if (reduction.isFull()) {
+            return this;
+        }
+        return reducedViews.computeIfAbsent(reduction, view -> view.reduce(this));
+    }
+
+    /**
+     * Converts rows to the TestNG data provider format
+     *
+     * @return Object[][] with one row Map per entry
+     */
+    public Object[][] toDataProviderArray() {
+        Object[][] result = new Object[rows.size()][1];
+        for (int i = 0; i < rows.size(); i++) {
+            result[i][0] = rows.get(i);
+        }
+        return result;
+    }
+}
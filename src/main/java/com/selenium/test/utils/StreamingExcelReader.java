@@ -0,0 +1,260 @@
+package com.selenium.test.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * StreamingExcelReader reads one sheet of an .xlsx file with POI's event API.
+ * Unlike XSSFWorkbook it never builds a DOM of the workbook:
+ * 1. XSSFReader opens only the requested sheet part
+ * 2. Shared strings are read through ReadOnlySharedStringsTable
+ * 3. Sheet XML is parsed with SAX and rows are handed out one at a time
+ *
+ * Cell values are converted the same way as the usermodel path in ExcelDataSource.
+ */
+final class StreamingExcelReader {
+
+    private StreamingExcelReader() {
+    }
+
+    /**
+     * Streams the rows of one sheet to a handler
+     *
+     * @param file      Workbook to read
+     * @param sheetName Sheet to read
+     * @param handler   Receiver of header and data rows
+     * @return true if the sheet was found
+     */
+    static boolean read(Path file, String sheetName, TestDataSource.RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+            StylesTable styles = reader.getStylesTable();
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetStream = sheets.next()) {
+                    if (sheets.getSheetName().equals(sheetName)) {
+                        XMLReader parser = XMLHelper.newXMLReader();
+                        parser.setContentHandler(new SheetHandler(sheetName, sharedStrings, styles, handler));
+                        parser.parse(new InputSource(sheetStream));
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Failed to stream sheet '" + sheetName + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Lists the sheet names of a workbook without reading any sheet data
+     *
+     * @param file Workbook to inspect
+     * @return Sheet names in workbook order
+     */
+    static List<String> sheetNames(Path file) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file.toFile(), PackageAccess.READ)) {
+            List<String> names = new ArrayList<>();
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) new XSSFReader(pkg).getSheetsData();
+            while (sheets.hasNext()) {
+                sheets.next().close();
+                names.add(sheets.getSheetName());
+            }
+            return names;
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to list sheets: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Reads one sheet fully into SheetData
+     *
+     * @param file      Workbook to read
+     * @param sheetName Sheet to read
+     * @return Decoded sheet, or null if the sheet does not exist
+     */
+    static SheetData readSheet(Path file, String sheetName) throws IOException {
+        SheetCollector collector = new SheetCollector();
+        return read(file, sheetName, collector) ? collector.toSheetData(sheetName) : null;
+    }
+
+    /**
+     * SAX handler for worksheet XML (&lt;row&gt;/&lt;c&gt;/&lt;v&gt; elements)
+     */
+    private static final class SheetHandler extends DefaultHandler {
+        private final String sheetName;
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final CellConverter converter;
+        private final TestDataSource.RowHandler handler;
+        private final StringBuilder text = new StringBuilder();
+
+        private List<String> headers;
+        private List<String> headerCells;
+        private String[] values;
+
+        private int rowNumber;
+        private int column;
+        private String cellType;
+        private int styleIndex;
+        private boolean hasFormula;
+        private boolean collectingText;
+
+        private SheetHandler(String sheetName, ReadOnlySharedStringsTable sharedStrings, StylesTable styles,
+                TestDataSource.RowHandler handler) {
+            this.sheetName = sheetName;
+            this.sharedStrings = sharedStrings;
+            this.converter = CellConverter.forStyles(styles);
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    String reference = attributes.getValue("r");
+                    rowNumber = reference != null ? Integer.parseInt(reference) : rowNumber + 1;
+                    if (headers == null) {
+                        headerCells = new ArrayList<>();
+                    } else {
+                        values = new String[headers.size()];
+                    }
+                    break;
+                case "c":
+                    column = columnIndex(attributes.getValue("r"));
+                    cellType = attributes.getValue("t");
+                    String style = attributes.getValue("s");
+                    styleIndex = style == null ? 0 : Integer.parseInt(style);
+                    hasFormula = false;
+                    text.setLength(0);
+                    break;
+                case "f":
+                    hasFormula = true;
+                    break;
+                case "v":
+                case "t":
+                    collectingText = true;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (collectingText) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    collectingText = false;
+                    break;
+                case "c":
+                    storeCell(cellValue());
+                    break;
+                case "row":
+                    if (headers == null) {
+                        headers = headerCells;
+                        handler.headers(headers);
+                    } else {
+                        for (int i = 0; i < values.length; i++) {
+                            if (values[i] == null) {
+                                values[i] = "";
+                            }
+                        }
+                        handler.row(values);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void storeCell(String value) {
+            if (headers == null) {
+                headerCells.add(value);
+            } else if (column >= 0 && column < values.length) {
+                values[column] = value;
+            }
+        }
+
+        /**
+         * Converts the current cell like ExcelDataSource does for usermodel cells
+         *
+         * @throws IllegalStateException if the cell holds a value its type does not allow,
+         *                               naming the sheet, row and column of the cell
+         */
+        private String cellValue() {
+            String raw = text.toString();
+            if (raw.isEmpty()) {
+                return "";
+            }
+            try {
+                if (cellType == null || "n".equals(cellType)) {
+                    double number = Double.parseDouble(raw);
+                    if (hasFormula) {
+                        return String.valueOf(number);
+                    }
+                    return converter.formatNumber(number, styleIndex);
+                }
+                switch (cellType) {
+                    case "s":
+                        return sharedStrings.getItemAt(Integer.parseInt(raw)).getString().trim();
+                    case "b":
+                        return "1".equals(raw) ? "true" : "false";
+                    case "str":
+                        return raw;
+                    case "inlineStr":
+                        return raw.trim();
+                    default:
+                        return "";
+                }
+            } catch (RuntimeException e) {
+                throw new IllegalStateException(String.format("Cannot convert cell value '%s' of type %s in sheet '%s',"
+                        + " row %d, column %d: %s", raw, cellType == null ? "n" : cellType, sheetName, rowNumber,
+                        column + 1, e.getMessage()), e);
+            }
+        }
+
+        /**
+         * Converts a cell reference such as "AB12" to a zero-based column index
+         */
+        private int columnIndex(String reference) {
+            if (reference == null) {
+                return headers == null ? headerCells.size() : -1;
+            }
+            int index = 0;
+            for (int i = 0; i < reference.length(); i++) {
+                char c = reference.charAt(i);
+                if (c < 'A' || c > 'Z') {
+                    break;
+                }
+                index = index * 26 + (c - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
+}
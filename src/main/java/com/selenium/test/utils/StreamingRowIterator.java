@@ -0,0 +1,154 @@
+package com.selenium.test.utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+/**
+ * StreamingRowIterator feeds TestNG a sheet row by row while it is still being parsed.
+ * A background thread streams the sheet with its TestDataSource into a bounded queue,
+ * so the first test starts as soon as the first row is decoded and at most
+ * QUEUE_CAPACITY rows are held in memory at any time, provided TestNG consumes the
+ * iterator row by row, i.e. the data provider is not parallel.
+ * An optional filter drops non-matching rows on the producer thread.
+ *
+ * The producer always ends the queue with an end marker or the failure, so the
+ * consumer is never left waiting, unless the consumer itself stopped reading.
+ */
+final class StreamingRowIterator implements Iterator<Object[]> {
+    private static final int QUEUE_CAPACITY = 256;
+    private static final long CONSUMER_TIMEOUT_MINUTES = 10;
+
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private Object next;
+
+    /**
+     * Thrown inside the parser to stop streaming when nobody consumes the rows
+     */
+    private static final class AbandonedException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private AbandonedException() {
+            super("Row consumer stopped reading", null, false, false);
+        }
+    }
+
+    /**
+     * Starts streaming a sheet in the background
+     *
+     * @param source    Source that decodes the file
+     * @param file      File to read
+     * @param sheetName Sheet to read
+     * @param filter    Rows to keep
+     */
+    StreamingRowIterator(TestDataSource source, Path file, String sheetName, Predicate<? super DataRow> filter) {
+        Thread producer = new Thread(() -> produce(source, file, sheetName, filter), "testdata-stream-" + sheetName);
+        producer.setDaemon(true);
+        producer.start();
+    }
+
+    private void produce(TestDataSource source, Path file, String sheetName, Predicate<? super DataRow> filter) {
+        Object last = null;
+        boolean abandoned = false;
+        try {
+            boolean found = source.read(file, sheetName, new TestDataSource.RowHandler() {
+                private final StringInterner interner = new StringInterner();
+                private RowSchema schema;
+
+                @Override
+                public void headers(List<String> headers) {
+                    this.schema = new RowSchema(headers);
+                }
+
+                @Override
+                public void row(String[] values) {
+                    DataRow row = schema.newRow(interner.internAll(values));
+                    if (filter.test(row)) {
+                        put(new Object[] { row });
+                    }
+                }
+            });
+            last = found ? END : new RuntimeException("Sheet '" + sheetName + "' not found in test data file");
+        } catch (AbandonedException e) {
+            abandoned = true;
+        } catch (IOException e) {
+            last = new RuntimeException("Failed to read test data: " + e.getMessage(), e);
+        } catch (RuntimeException e) {
+            last = e;
+        } finally {
+            if (!abandoned) {
+                // last is still null if the parser threw an Error
+                finish(last != null ? last
+                        : new IllegalStateException("Streaming of sheet '" + sheetName + "' failed"));
+            }
+        }
+    }
+
+    private void put(Object item) {
+        try {
+            if (!queue.offer(item, CONSUMER_TIMEOUT_MINUTES, TimeUnit.MINUTES)) {
+                throw new AbandonedException();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while streaming test data", e);
+        }
+    }
+
+    /**
+     * Queues the end marker or failure. Interrupts are deferred until it is queued,
+     * and nothing is thrown, so the consumer always learns that streaming ended.
+     */
+    private void finish(Object last) {
+        boolean interrupted = Thread.interrupted();
+        try {
+            while (true) {
+                try {
+                    // A full queue for this long means the consumer stopped reading
+                    queue.offer(last, CONSUMER_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+                    return;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            try {
+                next = queue.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for test data", e);
+            }
+        }
+        if (next instanceof RuntimeException) {
+            throw (RuntimeException) next;
+        }
+        return next != END;
+    }
+
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] row = (Object[]) next;
+        next = null;
+        return row;
+    }
+}
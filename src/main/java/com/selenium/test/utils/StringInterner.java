@@ -0,0 +1,49 @@
+package com.selenium.test.utils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * StringInterner deduplicates repeated cell values while a sheet is decoded.
+ * Values such as "secret_sauce" or "success" then share one String instance
+ * across all rows. An instance is used by a single loading thread only.
+ * The pool is bounded so sheets with mostly unique values do not double their footprint.
+ */
+final class StringInterner {
+    private static final int MAX_POOL_SIZE = 10_000;
+
+    private final Map<String, String> pool = new HashMap<>();
+
+    /**
+     * Returns the shared instance of a value
+     *
+     * @param value Value to intern
+     * @return Canonical instance equal to value
+     */
+    String intern(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        String existing = pool.get(value);
+        if (existing != null) {
+            return existing;
+        }
+        if (pool.size() < MAX_POOL_SIZE) {
+            pool.put(value, value);
+        }
+        return value;
+    }
+
+    /**
+     * Interns all values of a row in place
+     *
+     * @param values Row values
+     * @return The same array
+     */
+    String[] internAll(String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = intern(values[i]);
+        }
+        return values;
+    }
+}
@@ -0,0 +1,181 @@
+package com.selenium.test.utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * TestDataCache keeps decoded sheets for the lifetime of the JVM.
+ * Features:
+ * 1. Entries are keyed by file path and last-modified time,
+ *    so an edited file is decoded again on next access
+ * 2. Single-flight loading: concurrent requests wait for one loader instead of
+ *    parsing the file in parallel. For loaders that decode every sheet of a file at
+ *    once (e.g. a full workbook parse), this holds across sheets: requests for
+ *    different sheets of the same file share one parse. Other loaders run once per sheet.
+ * 3. Loaders may return more sheets than requested, and all of them are cached
+ */
+final class TestDataCache {
+
+    /**
+     * Decodes sheets from a data file
+     */
+    @FunctionalInterface
+    interface SheetLoader {
+        /**
+         * @param file      File to read
+         * @param sheetName Sheet that was requested
+         * @return Decoded sheets by name, containing at least the requested sheet if it exists
+         */
+        Map<String, SheetData> load(Path file, String sheetName) throws IOException;
+    }
+
+    /**
+     * Identifies one load: a file version and the sheet loaded from it,
+     * or no sheet for a load decoding the whole file
+     */
+    private static final class Key {
+        private final Path file;
+        private final long lastModified;
+        private final String sheetName;
+
+        private Key(Path file, long lastModified, String sheetName) {
+            this.file = file;
+            this.lastModified = lastModified;
+            this.sheetName = sheetName;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) o;
+            return lastModified == other.lastModified && file.equals(other.file)
+                    && Objects.equals(sheetName, other.sheetName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(file, lastModified, sheetName);
+        }
+    }
+
+    private static final Map<Key, CompletableFuture<Map<String, SheetData>>> ENTRIES = new ConcurrentHashMap<>();
+
+    private TestDataCache() {
+    }
+
+    /**
+     * Gets a decoded sheet, loading it at most once per file version
+     *
+     * @param file      Data file
+     * @param sheetName Sheet to read
+     * @param wholeFile true if the loader decodes every sheet of the file at once
+     *                  (see TestDataSource.decodesAllSheets); the load is then shared by all sheets
+     * @param loader    Loader used on a cache miss
+     * @return Decoded sheet
+     */
+    static SheetData getSheet(Path file, String sheetName, boolean wholeFile, SheetLoader loader) {
+        Path normalized = file.toAbsolutePath().normalize();
+        long lastModified = lastModified(normalized);
+        Key key = new Key(normalized, lastModified, wholeFile ? null : sheetName);
+
+        CompletableFuture<Map<String, SheetData>> future = ENTRIES.get(key);
+        if (future == null) {
+            CompletableFuture<Map<String, SheetData>> created = new CompletableFuture<>();
+            future = ENTRIES.putIfAbsent(key, created);
+            if (future == null) {
+                future = created;
+                load(key, sheetName, loader, created);
+            }
+        }
+
+        Map<String, SheetData> sheets;
+        try {
+            sheets = future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new RuntimeException("Failed to read test data: " + cause.getMessage(), cause);
+        }
+        SheetData sheet = sheets.get(sheetName);
+        if (sheet == null) {
+            throw new RuntimeException("Sheet '" + sheetName + "' not found in test data file");
+        }
+        return sheet;
+    }
+
+    /**
+     * Gets a sheet only if it is already decoded for the current file version
+     *
+     * @param file      Data file
+     * @param sheetName Sheet to look up
+     * @return Cached sheet or null
+     */
+    static SheetData peek(Path file, String sheetName) {
+        Path normalized = file.toAbsolutePath().normalize();
+        long lastModified = lastModified(normalized);
+        SheetData sheet = peek(new Key(normalized, lastModified, null), sheetName);
+        return sheet != null ? sheet : peek(new Key(normalized, lastModified, sheetName), sheetName);
+    }
+
+    private static SheetData peek(Key key, String sheetName) {
+        CompletableFuture<Map<String, SheetData>> future = ENTRIES.get(key);
+        return future != null && future.isDone() && !future.isCompletedExceptionally()
+                ? future.join().get(sheetName) : null;
+    }
+
+    /**
+     * Drops all cached sheets
+     */
+    static void clear() {
+        ENTRIES.clear();
+    }
+
+    private static void load(Key key, String sheetName, SheetLoader loader,
+            CompletableFuture<Map<String, SheetData>> target) {
+        try {
+            Map<String, SheetData> sheets = loader.load(key.file, sheetName);
+
+            // Drop entries of older versions of this file; a per-sheet load also caches
+            // any further sheets the loader returned
+            ENTRIES.keySet().removeIf(k -> k.file.equals(key.file) && k.lastModified != key.lastModified);
+            if (key.sheetName != null) {
+                sheets.forEach((name, sheet) -> {
+                    if (!name.equals(sheetName)) {
+                        ENTRIES.putIfAbsent(new Key(key.file, key.lastModified, name),
+                                CompletableFuture.completedFuture(Map.of(name, sheet)));
+                    }
+                });
+            }
+            target.complete(sheets);
+        } catch (IOException e) {
+            fail(key, target, new RuntimeException("Failed to read test data: " + e.getMessage(), e));
+        } catch (RuntimeException e) {
+            fail(key, target, e);
+        }
+    }
+
+    private static void fail(Key key, CompletableFuture<Map<String, SheetData>> target, RuntimeException e) {
+        // Failed loads are not cached so a corrected file can be retried
+        ENTRIES.remove(key, target);
+        target.completeExceptionally(e);
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read test data: " + e.getMessage(), e);
+        }
+    }
+}
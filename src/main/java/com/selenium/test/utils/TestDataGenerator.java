@@ -1,9 +1,18 @@
 package com.selenium.test.utils;
 
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
 import java.io.FileOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 /**
@@ -13,13 +22,30 @@ import java.util.*;
  * 2. Apache POI for Excel file creation
  * 3. Separation of test data from test code
  * 4. Maintainable test data structure
+ *
+ * Besides the small TestData.xlsx, a bulk mode writes large synthetic workbooks
+ * (millions of rows) with SXSSF: only a window of rows is kept in memory and
+ * columns are not auto-sized, so memory stays bounded regardless of row count.
  */
 public class TestDataGenerator {
     // Constants for file path and Excel structure
     private static final String TEST_DATA_PATH = "src/test/resources/testdata/TestData.xlsx";
     private static final String[] HEADERS = { "testCase", "username", "password", "expectedResult" };
+    private static final String BULK_OUTPUT_PATH = "target/testdata/BulkTestData.xlsx";
+    private static final String IDENTITIES_OUTPUT_PATH = "target/testdata/identities.csv";
+    static final String IDENTITY_HEADER = "username,email,password";
+    private static final int DEFAULT_ROW_WINDOW = 1000;
+    // Excel 2007 sheets hold 1,048,576 rows including the header row
+    private static final long MAX_DATA_ROWS = SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
 
-    private static final Random random = new Random();
+    private static IdentityGenerator.Stripe valueStripe;
+
+    /**
+     * Registration rows: unique names and emails per row number
+     */
+    private static final String REGISTER_TEMPLATE = "testCase=Register User {n};firstName=user{n};"
+            + "lastName=Tester{n};email=user{n}@testdomain.com;password=Secret{n}!;"
+            + "confirmPassword=Secret{n}!;expectedResult=success";
 
     /**
      * Test data for login scenarios
@@ -130,13 +156,174 @@ public class TestDataGenerator {
     }
 
     /**
-     * Generates a random username.
-     * Format: "testuser_" followed by random number
+     * One sheet of a bulk workbook
+     */
+    public static final class BulkSheet {
+        private final String name;
+        private final long rows;
+        private final RowTemplate template;
+
+        /**
+         * @param name     Sheet name
+         * @param rows     Number of data rows
+         * @param template Template producing the rows
+         */
+        public BulkSheet(String name, long rows, RowTemplate template) {
+            this.name = name;
+            this.rows = rows;
+            this.template = template;
+        }
+    }
+
+    /**
+     * Gets a built-in template by name
+     * 1. login: cycles through the login scenarios with a unique test case name per row
+     * 2. register: unique registration details per row
+     * Any other value is parsed as an inline template (see RowTemplate.parse).
+     *
+     * @param template Template name or inline template
+     * @return Row template
+     */
+    public static RowTemplate template(String template) {
+        switch (template) {
+            case "login":
+                return loginTemplate();
+            case "register":
+                return RowTemplate.parse(REGISTER_TEMPLATE);
+            default:
+                return RowTemplate.parse(template);
+        }
+    }
+
+    private static RowTemplate loginTemplate() {
+        List<String> headers = Collections.unmodifiableList(Arrays.asList(HEADERS));
+        return new RowTemplate() {
+            @Override
+            public List<String> headers() {
+                return headers;
+            }
+
+            @Override
+            public void fill(long rowNumber, String[] values) {
+                Object[] scenario = LOGIN_DATA[(int) ((rowNumber - 1) % LOGIN_DATA.length)];
+                values[0] = scenario[0] + " #" + rowNumber;
+                for (int i = 1; i < values.length; i++) {
+                    values[i] = scenario[i].toString();
+                }
+            }
+        };
+    }
+
+    /**
+     * Generates a large workbook by streaming rows through SXSSF
+     * Process:
+     * 1. Keeps only the last rowWindow rows of a sheet in memory, older rows are flushed to disk
+     * 2. Writes string cells inline (no shared strings table held in memory)
+     * 3. Skips column auto-sizing, which would measure every cell
+     *
+     * @param output            Workbook to write
+     * @param sheets            Sheets to generate
+     * @param rowWindow         Number of rows kept in memory per sheet
+     * @param compressTempFiles true to gzip the flushed rows, trading CPU time for temporary disk space
+     */
+    public static void generateBulkTestData(Path output, List<BulkSheet> sheets, int rowWindow,
+            boolean compressTempFiles) throws IOException {
+        long start = System.nanoTime();
+        long totalRows = 0;
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+
+        SXSSFWorkbook workbook = new SXSSFWorkbook(null, rowWindow, compressTempFiles);
+        try {
+            for (BulkSheet bulkSheet : sheets) {
+                writeBulkSheet(workbook.createSheet(bulkSheet.name), bulkSheet);
+                totalRows += bulkSheet.rows;
+            }
+            try (OutputStream out = Files.newOutputStream(output)) {
+                workbook.write(out);
+            }
+        } finally {
+            // Deletes the temporary files holding flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+
+        long millis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("Bulk test data generated at: " + output + " (" + totalRows + " rows in "
+                + sheets.size() + " sheets, " + millis + " ms)");
+    }
+
+    private static void writeBulkSheet(SXSSFSheet sheet, BulkSheet bulkSheet) {
+        List<String> headers = bulkSheet.template.headers();
+        Row headerRow = sheet.createRow(0);
+        for (int i = 0; i < headers.size(); i++) {
+            headerRow.createCell(i).setCellValue(headers.get(i));
+        }
+
+        // An explicit style saves SXSSF a column style lookup for every cell it writes
+        CellStyle defaultStyle = sheet.getWorkbook().getCellStyleAt(0);
+        String[] values = new String[headers.size()];
+        for (long n = 1; n <= bulkSheet.rows; n++) {
+            bulkSheet.template.fill(n, values);
+            Row row = sheet.createRow((int) n);
+            for (int i = 0; i < values.length; i++) {
+                Cell cell = row.createCell(i);
+                cell.setCellStyle(defaultStyle);
+                cell.setCellValue(values[i]);
+            }
+        }
+    }
+
+    /**
+     * Parses bulk mode arguments and generates the workbook
+     * Arguments: [--out path] [--window rows] [--compress-temp] sheet:rows[:template] ...
+     * Example: --out target/testdata/Bulk.xlsx Login:1000000:login Register:1000000:register
+     *
+     * @param args Command line arguments after --bulk
+     */
+    private static void generateBulkTestData(String[] args) throws IOException {
+        Path output = Paths.get(BULK_OUTPUT_PATH);
+        int rowWindow = DEFAULT_ROW_WINDOW;
+        boolean compressTempFiles = false;
+        List<BulkSheet> sheets = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            if ("--out".equals(args[i]) && i + 1 < args.length) {
+                output = Paths.get(args[++i]);
+            } else if ("--window".equals(args[i]) && i + 1 < args.length) {
+                rowWindow = Integer.parseInt(args[++i]);
+            } else if ("--compress-temp".equals(args[i])) {
+                compressTempFiles = true;
+            } else {
+                String[] parts = args[i].split(":", 3);
+                if (parts.length < 2) {
+                    throw new IllegalArgumentException("Sheet must be name:rows[:template]: " + args[i]);
+                }
+                long rows = Long.parseLong(parts[1]);
+                if (rows < 0 || rows > MAX_DATA_ROWS) {
+                    throw new IllegalArgumentException("Row count must be between 0 and "
+                            + MAX_DATA_ROWS + ": " + args[i]);
+                }
+                sheets.add(new BulkSheet(parts[0], rows, template(parts.length > 2 ? parts[2] : "login")));
+            }
+        }
+        if (sheets.isEmpty()) {
+            throw new IllegalArgumentException("No sheets given, e.g. Login:1000000:login");
+        }
+        generateBulkTestData(output, sheets, rowWindow, compressTempFiles);
+    }
+
+    /**
+     * Generates a unique username, safe to call from parallel tests.
+     * Format: "testuser_" followed by a unique sequence (see IdentityGenerator)
      * 
-     * @return Random username string
+     * @return Unique username string
      */
     public static String generateUsername() {
-        return "testuser_" + random.nextInt(10000);
+        synchronized (TestDataGenerator.class) {
+            return valueStripe().username();
+        }
     }
 
     /**
@@ -149,34 +336,104 @@ public class TestDataGenerator {
      * @return Random password string
      */
     public static String generatePassword() {
-        String letters = "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ";
-        String numbers = "0123456789";
-        String special = "!@#$%^&*";
+        synchronized (TestDataGenerator.class) {
+            return valueStripe().password();
+        }
+    }
 
-        StringBuilder password = new StringBuilder();
+    /**
+     * Generates a unique email address.
+     * Format: username@testdomain.com
+     * 
+     * @return Unique email string
+     */
+    public static String generateEmail() {
+        synchronized (TestDataGenerator.class) {
+            return valueStripe().email();
+        }
+    }
+
+    /**
+     * Gets the stripe single values are drawn from. It never takes identities out of IdentityPool,
+     * and its index (shard count + shard index) differs from the pool's (shard index),
+     * so the two never produce the same name. Callers hold the class lock.
+     */
+    private static IdentityGenerator.Stripe valueStripe() {
+        if (valueStripe == null) {
+            TestDataShard shard = TestDataShard.current();
+            valueStripe = IdentityGenerator.shared().stripe(shard.getCount() + shard.getIndex());
+        }
+        return valueStripe;
+    }
 
-        // Add at least one character from each required type
-        password.append(letters.charAt(random.nextInt(letters.length())));
-        password.append(numbers.charAt(random.nextInt(numbers.length())));
-        password.append(special.charAt(random.nextInt(special.length())));
+    /**
+     * Generates identities from one stripe, in a fixed order
+     *
+     * @param stripe Stripe to draw from
+     * @param count  Number of identities
+     * @return New identities
+     */
+    public static List<Identity> generateIdentities(IdentityGenerator.Stripe stripe, int count) {
+        List<Identity> identities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            identities.add(stripe.identity());
+        }
+        return identities;
+    }
 
-        // Add 5 more random characters
-        String allChars = letters + numbers + special;
-        for (int i = 0; i < 5; i++) {
-            password.append(allChars.charAt(random.nextInt(allChars.length())));
+    /**
+     * Writes generated identities to a CSV file that IdentityPool can replay
+     * (system property identities.file)
+     *
+     * @param output File to write
+     * @param count  Number of identities
+     */
+    public static void writeIdentities(Path output, int count) throws IOException {
+        if (output.getParent() != null) {
+            Files.createDirectories(output.getParent());
+        }
+        List<String> lines = new ArrayList<>(count + 1);
+        lines.add(IDENTITY_HEADER);
+        for (Identity identity : generateIdentities(IdentityGenerator.shared().stripe(0), count)) {
+            lines.add(toIdentityLine(identity));
         }
+        Files.write(output, lines, StandardCharsets.UTF_8);
+        System.out.println(count + " identities generated at: " + output);
+    }
 
-        return password.toString();
+    /**
+     * Reads identities written by writeIdentities or recorded by IdentityPool
+     *
+     * @param file CSV file with username, email and password columns
+     * @return Identities in file order
+     */
+    public static List<Identity> readIdentities(Path file) {
+        try {
+            SheetData sheet = new CsvDataSource().loadSheets(file, "identities").get("identities");
+            List<Identity> identities = new ArrayList<>(sheet.size());
+            for (DataRow row : sheet.getRows()) {
+                identities.add(new Identity(row.get("username"), row.get("email"), row.get("password")));
+            }
+            return identities;
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read identities: " + e.getMessage(), e);
+        }
     }
 
     /**
-     * Generates a random email address.
-     * Format: username@testdomain.com
-     * 
-     * @return Random email string
+     * Formats an identity as a CSV line matching IDENTITY_HEADER
      */
-    public static String generateEmail() {
-        return generateUsername() + "@testdomain.com";
+    static String toIdentityLine(Identity identity) {
+        return csvField(identity.getUsername()) + "," + csvField(identity.getEmail()) + ","
+                + csvField(identity.getPassword());
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
     }
 
     /**
@@ -186,8 +443,16 @@ public class TestDataGenerator {
      * 1. Run directly from IDE
      * 2. Run via Maven: mvn exec:java
      * 3. Run via Java command line
+     * 4. Bulk mode: mvn exec:java -Dexec.args="--bulk Login:1000000:login Register:1000000:register"
+     * 5. Identity pool file: mvn exec:java -Dexec.args="--identities 1000 [path]"
      */
-    public static void main(String[] args) {
-        generateTestData();
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && "--bulk".equals(args[0])) {
+            generateBulkTestData(Arrays.copyOfRange(args, 1, args.length));
+        } else if (args.length > 1 && "--identities".equals(args[0])) {
+            writeIdentities(Paths.get(args.length > 2 ? args[2] : IDENTITIES_OUTPUT_PATH), Integer.parseInt(args[1]));
+        } else {
+            generateTestData();
+        }
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.selenium.test.utils;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * TestDataQuery selects a subset of a test data sheet, e.g. for targeted
+ * reruns or smoke subsets:
+ *
+ * ExcelDataProvider.query("Login")
+ *         .where("testCase", "Locked Out User")
+ *         .filter(row -> !row.get("expectedResult").equals("success"))
+ *         .toDataProviderArray();
+ *
+ * Cached (or small) sheets are answered through exact-match indexes that are
+ * built once per sheet and column. Large sheets are streamed and only matching
+ * rows are kept, so the whole sheet is never held in memory.
+ *
+ * Only rows of the current shard are returned (see TestDataShard).
+ */
+public final class TestDataQuery {
+    private final String sheetName;
+    private final Map<String, String> exactMatches = new LinkedHashMap<>();
+    private Predicate<DataRow> filter = row -> true;
+
+    /**
+     * Creates a query; use ExcelDataProvider.query
+     *
+     * @param sheetName Sheet to query
+     */
+    TestDataQuery(String sheetName) {
+        this.sheetName = sheetName;
+    }
+
+    /**
+     * Keeps rows whose column equals a value (uses an index where possible)
+     *
+     * @param column Column name
+     * @param value  Exact value to match
+     * @return This query
+     */
+    public TestDataQuery where(String column, String value) {
+        exactMatches.put(column, value);
+        return this;
+    }
+
+    /**
+     * Keeps rows matching a predicate, e.g. on a tag or priority column
+     *
+     * @param predicate Condition rows must satisfy
+     * @return This query
+     */
+    public TestDataQuery filter(Predicate<? super DataRow> predicate) {
+        Predicate<DataRow> previous = filter;
+        filter = row -> previous.test(row) && predicate.test(row);
+        return this;
+    }
+
+    /**
+     * Gets all matching rows
+     *
+     * @return Matching rows in sheet order
+     */
+    public List<DataRow> rows() {
+        List<DataRow> result = new ArrayList<>();
+        iterateRows().forEachRemaining(row -> result.add((DataRow) row[0]));
+        return result;
+    }
+
+    /**
+     * Gets matching rows as a lazy TestNG data provider iterator
+     *
+     * @return Iterator of single-element arrays containing a row Map
+     */
+    public Iterator<Object[]> iterator() {
+        return iterateRows();
+    }
+
+    /**
+     * Gets matching rows in the TestNG data provider array format
+     *
+     * @return Object[][] with one row Map per entry
+     */
+    public Object[][] toDataProviderArray() {
+        List<DataRow> rows = rows();
+        Object[][] result = new Object[rows.size()][1];
+        for (int i = 0; i < rows.size(); i++) {
+            result[i][0] = rows.get(i);
+        }
+        return result;
+    }
+
+    private Iterator<Object[]> iterateRows() {
+        TestDataShard shard = TestDataShard.current();
+        Predicate<DataRow> matches = matchesAll();
+        if (ExcelDataProvider.shouldStream(sheetName)) {
+            return ExcelDataProvider.streamRows(sheetName, row -> shard.owns(row) && matches.test(row));
+        }
+
+        SheetData sheet = ExcelDataProvider.getSheet(sheetName).forShard(shard);
+        List<DataRow> candidates = sheet.getRows();
+        if (!exactMatches.isEmpty()) {
+            // Narrow down with the index of the first exact-match column
+            Map.Entry<String, String> first = exactMatches.entrySet().iterator().next();
+            candidates = sheet.findAll(first.getKey(), first.getValue());
+        }
+        List<DataRow> result = new ArrayList<>();
+        for (DataRow row : candidates) {
+            if (matches.test(row)) {
+                result.add(row);
+            }
+        }
+        return ExcelDataProvider.toDataProviderIterator(result.iterator());
+    }
+
+    private Predicate<DataRow> matchesAll() {
+        Map<String, String> required = new LinkedHashMap<>(exactMatches);
+        Predicate<DataRow> rowFilter = filter;
+        return row -> {
+            for (Map.Entry<String, String> entry : required.entrySet()) {
+                if (!entry.getValue().equals(row.get(entry.getKey()))) {
+                    return false;
+                }
+            }
+            return rowFilter.test(row);
+        };
+    }
+}
@@ -0,0 +1,316 @@
+package com.selenium.test.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * TestDataReduction skips data provider rows that exercise the same code path.
+ * Rows are grouped into equivalence classes by declared key columns (default expectedResult):
+ * rows with equal values in all key columns are equivalent, e.g. "Invalid Password" and
+ * "Invalid Username" both expect the same error message.
+ *
+ * Modes:
+ * 1. FULL: every row runs (default)
+ * 2. MINIMAL: only the first row of each class runs, e.g. for pull request builds
+ *
+ * Configuration (checked in this order):
+ * 1. TestDataReduction.configure, e.g. from the testDataMode suite parameter
+ *    in testng.xml (see TestDataReductionListener)
+ * 2. System properties, e.g. mvn test -Dtestdata.mode=minimal
+ *    - testdata.mode: full or minimal
+ *    - testdata.keys: default key columns, comma separated
+ *    - testdata.keys.Sheet: key columns of one sheet, e.g. testdata.keys.Login=expectedResult,username
+ *    - testdata.fullRunEvery: in minimal mode, run everything on every n-th run
+ *    - testdata.runNumber: run counter for fullRunEvery, e.g. the CI build number;
+ *      the day number (UTC) if not set, so that minimal runs become a full run every n days
+ *
+ * Sheets without all key columns are not reduced. Representatives are picked in sheet
+ * order, so every agent (and the streamed and cached paths) selects the same rows.
+ */
+public final class TestDataReduction {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataReduction.class);
+    private static final List<String> DEFAULT_KEY_COLUMNS = Collections.singletonList("expectedResult");
+
+    /**
+     * Run modes
+     */
+    public enum Mode {
+        FULL,
+        MINIMAL
+    }
+
+    /**
+     * Reduction running every row
+     */
+    public static final TestDataReduction FULL = new TestDataReduction(Mode.FULL, DEFAULT_KEY_COLUMNS,
+            Collections.emptyMap());
+
+    private static volatile TestDataReduction configured;
+
+    private final Mode mode;
+    private final List<String> keyColumns;
+    private final Map<String, List<String>> sheetKeyColumns;
+
+    private TestDataReduction(Mode mode, List<String> keyColumns, Map<String, List<String>> sheetKeyColumns) {
+        if (keyColumns.isEmpty()) {
+            throw new IllegalArgumentException("At least one key column is required");
+        }
+        this.mode = Objects.requireNonNull(mode, "mode");
+        this.keyColumns = Collections.unmodifiableList(new ArrayList<>(keyColumns));
+        this.sheetKeyColumns = Collections.unmodifiableMap(new LinkedHashMap<>(sheetKeyColumns));
+    }
+
+    /**
+     * Creates a reduction running one row per equivalence class
+     *
+     * @param keyColumns Columns whose values define a class, e.g. "expectedResult"
+     * @return Minimal reduction
+     */
+    public static TestDataReduction minimal(String... keyColumns) {
+        return new TestDataReduction(Mode.MINIMAL,
+                keyColumns.length == 0 ? DEFAULT_KEY_COLUMNS : Arrays.asList(keyColumns), Collections.emptyMap());
+    }
+
+    /**
+     * Returns a copy of this reduction with the key columns of one sheet
+     *
+     * @param sheetName  Sheet name
+     * @param keyColumns Columns whose values define a class in this sheet
+     * @return New reduction
+     */
+    public TestDataReduction withKeyColumns(String sheetName, String... keyColumns) {
+        if (keyColumns.length == 0) {
+            throw new IllegalArgumentException("At least one key column is required for sheet '" + sheetName + "'");
+        }
+        Map<String, List<String>> copy = new LinkedHashMap<>(sheetKeyColumns);
+        copy.put(sheetName, Collections.unmodifiableList(Arrays.asList(keyColumns.clone())));
+        return new TestDataReduction(mode, this.keyColumns, copy);
+    }
+
+    /**
+     * Sets the reduction of this JVM, overriding the system properties
+     *
+     * @param reduction Reduction to use, or null to fall back to the system properties
+     */
+    public static void configure(TestDataReduction reduction) {
+        configured = reduction;
+    }
+
+    /**
+     * Gets the reduction of this JVM.
+     * In minimal mode with testdata.fullRunEvery set, every n-th run is a full run.
+     *
+     * @return Configured reduction, or FULL if reduction is not configured
+     */
+    public static TestDataReduction current() {
+        TestDataReduction reduction = configured;
+        if (reduction == null) {
+            reduction = fromSystemProperties();
+        }
+        if (reduction.mode == Mode.MINIMAL && isFullRun()) {
+            return FULL;
+        }
+        return reduction;
+    }
+
+    private static TestDataReduction fromSystemProperties() {
+        String mode = System.getProperty("testdata.mode");
+        if (mode == null || parseMode(mode) == Mode.FULL) {
+            return FULL;
+        }
+        String keys = System.getProperty("testdata.keys");
+        TestDataReduction reduction = keys == null ? minimal() : minimal(splitColumns(keys));
+        String prefix = "testdata.keys.";
+        for (String property : System.getProperties().stringPropertyNames()) {
+            if (property.startsWith(prefix) && property.length() > prefix.length()) {
+                reduction = reduction.withKeyColumns(property.substring(prefix.length()),
+                        splitColumns(System.getProperty(property)));
+            }
+        }
+        return reduction;
+    }
+
+    /**
+     * Parses a mode name
+     *
+     * @param mode "full" or "minimal", case-insensitive
+     * @return Mode
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static Mode parseMode(String mode) {
+        try {
+            return Mode.valueOf(mode.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown test data mode '" + mode + "': expected full or minimal", e);
+        }
+    }
+
+    /**
+     * Splits a comma separated list of column names
+     *
+     * @param columns Column names, e.g. "expectedResult, username"
+     * @return Trimmed column names
+     */
+    public static String[] splitColumns(String columns) {
+        return Arrays.stream(columns.split(",")).map(String::trim).filter(column -> !column.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    /**
+     * Checks whether this run is a periodic full run (testdata.fullRunEvery)
+     */
+    private static boolean isFullRun() {
+        Integer every = Integer.getInteger("testdata.fullRunEvery");
+        if (every == null || every <= 0) {
+            return false;
+        }
+        Long runNumber = Long.getLong("testdata.runNumber");
+        long run = runNumber != null ? runNumber : LocalDate.now(ZoneOffset.UTC).toEpochDay();
+        return Math.floorMod(run, (long) every) == 0;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Checks whether this reduction runs every row
+     *
+     * @return true in full mode
+     */
+    public boolean isFull() {
+        return mode == Mode.FULL;
+    }
+
+    /**
+     * Gets the key columns of a sheet
+     *
+     * @param sheetName Sheet name
+     * @return Columns defining the equivalence classes of the sheet
+     */
+    public List<String> keyColumns(String sheetName) {
+        return sheetKeyColumns.getOrDefault(sheetName, keyColumns);
+    }
+
+    /**
+     * Groups the rows of a sheet into equivalence classes.
+     * Also useful on its own to review how redundant a sheet is.
+     *
+     * @param sheet Sheet to analyze
+     * @return Rows per class in sheet order, keyed by the key column values;
+     *         one class per row if the sheet lacks a key column
+     */
+    public Map<List<String>, List<DataRow>> classes(SheetData sheet) {
+        int[] positions = keyPositions(sheet.getName(), sheet.getSchema());
+        Map<List<String>, List<DataRow>> classes = new LinkedHashMap<>();
+        List<DataRow> rows = sheet.getRows();
+        for (int i = 0; i < rows.size(); i++) {
+            DataRow row = rows.get(i);
+            // Without key columns every row is distinct; the row number keeps classes apart
+            List<String> key = positions == null ? Collections.singletonList(Integer.toString(i)) : key(row, positions);
+            classes.computeIfAbsent(key, k -> new ArrayList<>()).add(row);
+        }
+        return classes;
+    }
+
+    /**
+     * Creates a filter keeping the first row of each class, for rows read one at a time.
+     * The filter remembers the classes it has seen, so use a new filter for every pass.
+     *
+     * @param sheetName Sheet the rows belong to
+     * @return Filter keeping one row per class; keeps every row in full mode
+     */
+    public Predicate<DataRow> newFilter(String sheetName) {
+        if (isFull()) {
+            return row -> true;
+        }
+        Set<List<String>> seen = new HashSet<>();
+        RowSchema[] schema = new RowSchema[1];
+        int[][] positions = new int[1][];
+        return row -> {
+            if (schema[0] != row.getSchema()) {
+                schema[0] = row.getSchema();
+                positions[0] = keyPositions(sheetName, schema[0]);
+            }
+            return positions[0] == null || seen.add(key(row, positions[0]));
+        };
+    }
+
+    /**
+     * Selects the rows of a sheet to run
+     *
+     * @param sheet Sheet to reduce
+     * @return Sheet with one row per class in minimal mode, the sheet itself in full mode
+     */
+    SheetData reduce(SheetData sheet) {
+        if (isFull()) {
+            return sheet;
+        }
+        Map<List<String>, List<DataRow>> classes = classes(sheet);
+        if (classes.size() == sheet.size()) {
+            return sheet;
+        }
+        List<DataRow> representatives = new ArrayList<>(classes.size());
+        for (List<DataRow> rows : classes.values()) {
+            representatives.add(rows.get(0));
+        }
+        logger.info("Sheet '{}': running {} of {} rows (one per {} class)", sheet.getName(), representatives.size(),
+                sheet.size(), keyColumns(sheet.getName()));
+        return new SheetData(sheet.getName(), sheet.getSchema(), representatives);
+    }
+
+    private int[] keyPositions(String sheetName, RowSchema schema) {
+        List<String> columns = keyColumns(sheetName);
+        int[] positions = new int[columns.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = schema.indexOf(columns.get(i));
+            if (positions[i] < 0) {
+                return null;
+            }
+        }
+        return positions;
+    }
+
+    private static List<String> key(DataRow row, int[] positions) {
+        String[] values = new String[positions.length];
+        for (int i = 0; i < positions.length; i++) {
+            values[i] = row.get(positions[i]);
+        }
+        return Arrays.asList(values);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TestDataReduction)) {
+            return false;
+        }
+        TestDataReduction other = (TestDataReduction) o;
+        return mode == other.mode && keyColumns.equals(other.keyColumns)
+                && sheetKeyColumns.equals(other.sheetKeyColumns);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(mode, keyColumns, sheetKeyColumns);
+    }
+
+    @Override
+    public String toString() {
+        return mode == Mode.FULL ? "full" : "minimal by " + keyColumns
+                + (sheetKeyColumns.isEmpty() ? "" : " " + sheetKeyColumns);
+    }
+}
@@ -0,0 +1,221 @@
+package com.selenium.test.utils;
+
+import java.util.Objects;
+
+/**
+ * TestDataShard splits data provider rows across JVMs or CI agents.
+ * Each row is assigned to a shard by a stable hash of its key column (default "testCase"),
+ * so every agent computes the same split without coordination and rows with the same key
+ * always run on the same agent.
+ *
+ * Configuration (checked in this order):
+ * 1. TestDataShard.configure, e.g. from the shardIndex/shardCount suite parameters
+ *    in testng.xml (see TestDataShardListener)
+ * 2. System properties shard.index, shard.count and shard.key,
+ *    e.g. mvn test -Dshard.index=0 -Dshard.count=4
+ * Without configuration all rows belong to the single shard 0 of 1.
+ * Index and count must be set together: a count without an index fails instead of
+ * silently running shard 0 on every agent.
+ *
+ * Rows without the key column are assigned by a hash of all their values.
+ */
+public final class TestDataShard {
+    private static final String DEFAULT_KEY_COLUMN = "testCase";
+    private static final int FNV_OFFSET = 0x811c9dc5;
+    private static final int FNV_PRIME = 0x01000193;
+
+    /**
+     * Shard owning every row
+     */
+    public static final TestDataShard ALL = new TestDataShard(0, 1, DEFAULT_KEY_COLUMN);
+
+    private static volatile TestDataShard configured;
+
+    private final int index;
+    private final int count;
+    private final String keyColumn;
+
+    private TestDataShard(int index, int count, String keyColumn) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count
+                    + ": shard index must be between 0 and shard count - 1");
+        }
+        this.index = index;
+        this.count = count;
+        this.keyColumn = Objects.requireNonNull(keyColumn, "keyColumn");
+    }
+
+    /**
+     * Creates a shard keyed by the testCase column
+     *
+     * @param index Zero-based shard index
+     * @param count Number of shards
+     * @return Shard
+     */
+    public static TestDataShard of(int index, int count) {
+        return of(index, count, DEFAULT_KEY_COLUMN);
+    }
+
+    /**
+     * Creates a shard
+     *
+     * @param index     Zero-based shard index
+     * @param count     Number of shards
+     * @param keyColumn Column whose value decides the shard of a row
+     * @return Shard
+     */
+    public static TestDataShard of(int index, int count, String keyColumn) {
+        return new TestDataShard(index, count, keyColumn);
+    }
+
+    /**
+     * Creates a shard from configuration values such as suite parameters or system properties
+     *
+     * @param index     Zero-based shard index, or null if not set
+     * @param count     Number of shards, or null if not set
+     * @param keyColumn Column whose value decides the shard of a row, or null for testCase
+     * @param indexName Name of the index setting, for error messages
+     * @param countName Name of the count setting, for error messages
+     * @return Shard, or null if neither index nor count is set
+     * @throws IllegalArgumentException if only one of index and count is set, a value is not
+     *                                  a number or the index is not between 0 and count - 1
+     */
+    public static TestDataShard parse(String index, String count, String keyColumn, String indexName,
+            String countName) {
+        boolean hasIndex = index != null && !index.trim().isEmpty();
+        boolean hasCount = count != null && !count.trim().isEmpty();
+        if (!hasIndex && !hasCount) {
+            return null;
+        }
+        if (!hasIndex) {
+            throw new IllegalArgumentException(countName + " is set without " + indexName
+                    + ": every agent would run shard 0 and the other shards would never run");
+        }
+        if (!hasCount) {
+            throw new IllegalArgumentException(indexName + " is set without " + countName);
+        }
+        boolean hasKey = keyColumn != null && !keyColumn.trim().isEmpty();
+        return of(parseInt(index, indexName), parseInt(count, countName),
+                hasKey ? keyColumn.trim() : DEFAULT_KEY_COLUMN);
+    }
+
+    private static int parseInt(String value, String name) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " must be a number: '" + value + "'", e);
+        }
+    }
+
+    /**
+     * Sets the shard of this JVM, overriding the system properties
+     *
+     * @param shard Shard to use, or null to fall back to the system properties
+     */
+    public static void configure(TestDataShard shard) {
+        configured = shard;
+    }
+
+    /**
+     * Gets the shard of this JVM
+     *
+     * @return Configured shard, or ALL if sharding is not configured
+     * @throws IllegalArgumentException if the shard system properties are incomplete or invalid
+     */
+    public static TestDataShard current() {
+        TestDataShard shard = configured;
+        if (shard != null) {
+            return shard;
+        }
+        shard = parse(System.getProperty("shard.index"), System.getProperty("shard.count"),
+                System.getProperty("shard.key"), "shard.index", "shard.count");
+        return shard != null ? shard : ALL;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public String getKeyColumn() {
+        return keyColumn;
+    }
+
+    /**
+     * Checks whether this shard owns every row
+     *
+     * @return true if there is only one shard
+     */
+    public boolean isAll() {
+        return count == 1;
+    }
+
+    /**
+     * Checks whether a row belongs to this shard
+     *
+     * @param row Row to check
+     * @return true if this shard runs the row
+     */
+    public boolean owns(DataRow row) {
+        if (count == 1) {
+            return true;
+        }
+        String key = row.get(keyColumn);
+        int hash = key != null ? hash(FNV_OFFSET, key) : hashValues(row);
+        return Math.floorMod(mix(hash), count) == index;
+    }
+
+    /**
+     * FNV-1a over the characters of a string; unlike identity hashes it is the same on every JVM
+     */
+    private static int hash(int hash, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Spreads the hash over all bits (MurmurHash3 finalizer) so that small shard counts split evenly
+     */
+    private static int mix(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return hash;
+    }
+
+    private static int hashValues(DataRow row) {
+        int hash = FNV_OFFSET;
+        for (int column = 0; column < row.getSchema().getHeaders().size(); column++) {
+            hash = hash(hash, row.get(column));
+            hash = (hash ^ 0x1f) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof TestDataShard)) {
+            return false;
+        }
+        TestDataShard other = (TestDataShard) o;
+        return index == other.index && count == other.count && keyColumn.equals(other.keyColumn);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, count, keyColumn);
+    }
+
+    @Override
+    public String toString() {
+        return "shard " + index + " of " + count + " by " + keyColumn;
+    }
+}
@@ -0,0 +1,292 @@
+package com.selenium.test.utils;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TestDataSnapshot is a precompiled binary form of TestData.xlsx.
+ * Parsing OOXML (zipped XML) is the slowest part of loading test data, so the
+ * workbook can be compiled once into a compact snapshot that ExcelDataProvider
+ * reads instead of parsing. Compiling streams the workbook sheet by sheet (SAX),
+ * and loading reads only the bytes of the requested sheet.
+ *
+ * File layout (big-endian):
+ * 1. Header: magic "TDS1", sheet count, then per sheet its name and byte offset
+ * 2. Per sheet: header names, row count, string table (each distinct value once),
+ *    then rowCount x columnCount int indexes into the string table
+ *
+ * Strings are stored as an int byte length followed by UTF-8 bytes.
+ *
+ * Usage:
+ * 1. Run via Maven: mvn compile exec:java@compile-test-data
+ * 2. Run directly with optional arguments: [xlsxPath] [snapshotPath]
+ */
+public final class TestDataSnapshot {
+    private static final int MAGIC = 0x54445331; // "TDS1"
+    private static final String SNAPSHOT_EXTENSION = ".snapshot";
+
+    private TestDataSnapshot() {
+    }
+
+    /**
+     * Gets the snapshot location for a workbook (TestData.xlsx -> TestData.snapshot)
+     *
+     * @param workbook Workbook path
+     * @return Snapshot path next to the workbook
+     */
+    public static Path snapshotPathFor(Path workbook) {
+        String fileName = workbook.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String baseName = dot > 0 ? fileName.substring(0, dot) : fileName;
+        return workbook.resolveSibling(baseName + SNAPSHOT_EXTENSION);
+    }
+
+    /**
+     * Checks whether a usable snapshot exists that is newer than the workbook
+     *
+     * @param workbook Workbook path
+     * @return true if the snapshot can be loaded instead of the workbook
+     */
+    static boolean isFresh(Path workbook) {
+        Path snapshot = snapshotPathFor(workbook);
+        try {
+            return Files.exists(snapshot)
+                    && Files.getLastModifiedTime(snapshot).compareTo(Files.getLastModifiedTime(workbook)) > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Compiles all sheets of a workbook into a snapshot file
+     *
+     * @param workbook Workbook to read
+     * @param snapshot Snapshot file to write
+     */
+    public static void compile(Path workbook, Path snapshot) throws IOException {
+        // Sheets are streamed with SAX, so no workbook DOM is built; only the encoded
+        // form (string table and cell indexes) of each sheet is held in memory
+        List<String> sheetNames = StreamingExcelReader.sheetNames(workbook);
+        List<byte[]> encodedSheets = new ArrayList<>();
+        for (String sheetName : sheetNames) {
+            SheetEncoder encoder = new SheetEncoder();
+            StreamingExcelReader.read(workbook, sheetName, encoder);
+            encodedSheets.add(encoder.toBytes());
+        }
+
+        List<byte[]> names = new ArrayList<>();
+        int headerSize = 8;
+        for (String name : sheetNames) {
+            byte[] bytes = name.getBytes(StandardCharsets.UTF_8);
+            names.add(bytes);
+            headerSize += 4 + bytes.length + 8;
+        }
+
+        // Write to a temporary file and move it so readers never map a partial snapshot
+        Path temp = snapshot.resolveSibling(snapshot.getFileName() + ".tmp");
+        try (OutputStream fileOut = Files.newOutputStream(temp);
+                DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOut))) {
+            out.writeInt(MAGIC);
+            out.writeInt(sheetNames.size());
+            long offset = headerSize;
+            for (int i = 0; i < names.size(); i++) {
+                out.writeInt(names.get(i).length);
+                out.write(names.get(i));
+                out.writeLong(offset);
+                offset += encodedSheets.get(i).length;
+            }
+            for (byte[] encoded : encodedSheets) {
+                out.write(encoded);
+            }
+        }
+        Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Encodes the rows of one sheet as they are streamed
+     */
+    private static final class SheetEncoder implements TestDataSource.RowHandler {
+        private List<String> headers = Collections.emptyList();
+        // String table: each distinct value stored once
+        private final Map<String, Integer> tableIndex = new HashMap<>();
+        private final List<String> table = new ArrayList<>();
+        private int[] cells = new int[1024];
+        private int cellCount;
+        private int rowCount;
+
+        @Override
+        public void headers(List<String> headers) {
+            this.headers = new ArrayList<>(headers);
+        }
+
+        @Override
+        public void row(String[] values) {
+            if (cellCount + headers.size() > cells.length) {
+                cells = Arrays.copyOf(cells, Math.max(cells.length * 2, cellCount + headers.size()));
+            }
+            for (int column = 0; column < headers.size(); column++) {
+                String value = values[column];
+                Integer index = tableIndex.get(value);
+                if (index == null) {
+                    index = table.size();
+                    tableIndex.put(value, index);
+                    table.add(value);
+                }
+                cells[cellCount++] = index;
+            }
+            rowCount++;
+        }
+
+        private byte[] toBytes() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(headers.size());
+                for (String header : headers) {
+                    writeString(out, header);
+                }
+                out.writeInt(rowCount);
+                out.writeInt(table.size());
+                for (String value : table) {
+                    writeString(out, value);
+                }
+                for (int i = 0; i < cellCount; i++) {
+                    out.writeInt(cells[i]);
+                }
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Loads the requested sheet from the snapshot of a workbook
+     *
+     * @param workbook  Workbook whose snapshot should be read
+     * @param sheetName Sheet to decode
+     * @return Decoded sheet by name, or an empty map if the sheet does not exist
+     */
+    static Map<String, SheetData> load(Path workbook, String sheetName) throws IOException {
+        SheetData sheet = readSheet(snapshotPathFor(workbook), sheetName);
+        return sheet == null ? Collections.emptyMap() : Collections.singletonMap(sheetName, sheet);
+    }
+
+    /**
+     * Reads one sheet of a snapshot. The file is read, not memory-mapped: a mapping stays
+     * open until it is garbage collected, and on Windows an open mapping makes replacing
+     * the snapshot fail.
+     *
+     * @param snapshot  Snapshot file
+     * @param sheetName Sheet to decode
+     * @return Decoded sheet, or null if the snapshot has no such sheet
+     */
+    static SheetData readSheet(Path snapshot, String sheetName) throws IOException {
+        try (FileChannel channel = FileChannel.open(snapshot, StandardOpenOption.READ)) {
+            long size = channel.size();
+            DataInputStream header = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+            if (size < 8 || header.readInt() != MAGIC) {
+                throw new IOException("Not a test data snapshot: " + snapshot);
+            }
+
+            // A sheet ends where the next one starts, the last one at the end of the file
+            int sheetCount = header.readInt();
+            long offset = -1;
+            long end = size;
+            for (int i = 0; i < sheetCount; i++) {
+                byte[] name = new byte[header.readInt()];
+                header.readFully(name);
+                long sheetOffset = header.readLong();
+                if (offset >= 0 && end == size) {
+                    end = sheetOffset;
+                }
+                if (offset < 0 && new String(name, StandardCharsets.UTF_8).equals(sheetName)) {
+                    offset = sheetOffset;
+                }
+            }
+            if (offset < 0) {
+                return null;
+            }
+            if (end - offset > Integer.MAX_VALUE) {
+                throw new IOException("Sheet '" + sheetName + "' too large to read: " + snapshot);
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate((int) (end - offset));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, offset + buffer.position()) < 0) {
+                    throw new IOException("Truncated test data snapshot: " + snapshot);
+                }
+            }
+            buffer.flip();
+            return decodeSheet(buffer, sheetName);
+        }
+    }
+
+    private static SheetData decodeSheet(ByteBuffer buffer, String sheetName) {
+        int columnCount = buffer.getInt();
+        List<String> headers = new ArrayList<>(columnCount);
+        for (int i = 0; i < columnCount; i++) {
+            headers.add(readString(buffer));
+        }
+
+        int rowCount = buffer.getInt();
+        String[] table = new String[buffer.getInt()];
+        for (int i = 0; i < table.length; i++) {
+            table[i] = readString(buffer);
+        }
+
+        RowSchema schema = new RowSchema(headers);
+        List<DataRow> rows = new ArrayList<>(rowCount);
+        for (int row = 0; row < rowCount; row++) {
+            String[] values = new String[columnCount];
+            for (int column = 0; column < columnCount; column++) {
+                values[column] = table[buffer.getInt()];
+            }
+            rows.add(schema.newRow(values));
+        }
+        return new SheetData(sheetName, schema, rows);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compiles the default test data workbook into a snapshot
+     *
+     * @param args Optional workbook path and snapshot path
+     */
+    public static void main(String[] args) throws IOException {
+        Path workbook = args.length > 0 ? Paths.get(args[0]) : ExcelDataProvider.getTestDataPath();
+        Path snapshot = args.length > 1 ? Paths.get(args[1]) : snapshotPathFor(workbook);
+        long start = System.nanoTime();
+        compile(workbook, snapshot);
+        System.out.println("Test data snapshot written to: " + snapshot + " in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+}
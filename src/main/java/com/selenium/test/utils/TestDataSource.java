@@ -0,0 +1,95 @@
+package com.selenium.test.utils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * TestDataSource decodes one test data file format into rows.
+ * ExcelDataProvider picks the source by file extension, so tests read the same
+ * row Maps whether a sheet is backed by a workbook, a CSV or a JSON Lines file.
+ *
+ * Built-in sources:
+ * 1. xlsx: workbook sheets (usermodel, streaming or snapshot, see ExcelDataSource)
+ * 2. csv: one sheet per file, first record is the header
+ * 3. jsonl: one sheet per file, one flat JSON object per line
+ *
+ * Further formats can be added with ExcelDataProvider.registerDataSource.
+ */
+public interface TestDataSource {
+
+    /**
+     * Receives rows as they are parsed
+     */
+    interface RowHandler {
+        /**
+         * Called once with the header row
+         *
+         * @param headers Column names
+         */
+        void headers(List<String> headers);
+
+        /**
+         * Called for every data row
+         *
+         * @param values Cell values aligned with the headers, never null
+         */
+        void row(String[] values);
+    }
+
+    /**
+     * Streams the rows of one sheet to a handler
+     *
+     * @param file      File to read
+     * @param sheetName Sheet to read
+     * @param handler   Receiver of header and data rows
+     * @return true if the sheet was found
+     */
+    boolean read(Path file, String sheetName, RowHandler handler) throws IOException;
+
+    /**
+     * Lists the sheets stored in a file
+     *
+     * @param file File to inspect
+     * @return Sheet names in file order
+     */
+    List<String> sheetNames(Path file) throws IOException;
+
+    /**
+     * Decodes sheets for the cache. By default only the requested sheet is read.
+     *
+     * @param file      File to read
+     * @param sheetName Requested sheet
+     * @return Decoded sheets by name, empty if the sheet does not exist
+     */
+    default Map<String, SheetData> loadSheets(Path file, String sheetName) throws IOException {
+        SheetCollector collector = new SheetCollector();
+        if (!read(file, sheetName, collector)) {
+            return Collections.emptyMap();
+        }
+        return Collections.singletonMap(sheetName, collector.toSheetData(sheetName));
+    }
+
+    /**
+     * Checks whether rows should be streamed instead of decoded into the cache
+     *
+     * @param file File to read
+     * @return true if the file exceeds testdata.streaming.threshold
+     */
+    default boolean shouldStream(Path file) {
+        return ExcelDataProvider.isStreamingSize(file);
+    }
+
+    /**
+     * Checks whether loadSheets decodes every sheet of the file at once,
+     * in which case sheets of that file should not be loaded in parallel
+     *
+     * @param file File to read
+     * @return true if one load fills all sheets of the file
+     */
+    default boolean decodesAllSheets(Path file) {
+        return false;
+    }
+}
@@ -0,0 +1,207 @@
+package com.selenium.test.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * TestDataWatcher keeps decoded sheets current for long-running JVMs.
+ * While it runs:
+ * 1. Sheets are served from memory without checking the file on every call
+ * 2. A WatchService on the test data directory reports edited, added and deleted files
+ * 3. Only sheets backed by a changed file are decoded again, on the watcher thread
+ * 4. The new rows replace the old ones in a single map update, so readers see either
+ *    the previous or the new version of a sheet and never wait for a reload
+ *
+ * If a changed file cannot be decoded (e.g. it is still being written), the previous
+ * rows are kept and the next change event retries. Any other error while handling
+ * a change is logged and the watcher keeps running.
+ */
+final class TestDataWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataWatcher.class);
+    private static final long QUIET_PERIOD_MILLIS = 200;
+
+    /**
+     * Current version of a sheet and the file it was decoded from
+     */
+    private static final class Entry {
+        private final Path file;
+        private final SheetData sheet;
+
+        private Entry(Path file, SheetData sheet) {
+            this.file = file;
+            this.sheet = sheet;
+        }
+    }
+
+    private static final Map<String, Entry> CURRENT = new ConcurrentHashMap<>();
+    private static volatile WatchService watchService;
+
+    private TestDataWatcher() {
+    }
+
+    /**
+     * Starts watching a directory; does nothing if the watcher is already running
+     *
+     * @param directory Test data directory
+     */
+    static synchronized void start(Path directory) throws IOException {
+        if (watchService != null) {
+            return;
+        }
+        WatchService service = directory.getFileSystem().newWatchService();
+        directory.register(service, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE);
+        watchService = service;
+
+        Thread thread = new Thread(() -> watch(service, directory), "testdata-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        logger.info("Watching test data directory: {}", directory);
+    }
+
+    /**
+     * Stops watching and forgets the sheets held in memory
+     */
+    static synchronized void stop() {
+        if (watchService == null) {
+            return;
+        }
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close test data watcher: {}", e.getMessage());
+        }
+        watchService = null;
+        CURRENT.clear();
+    }
+
+    /**
+     * Gets the current version of a sheet
+     *
+     * @param sheetName Sheet to look up
+     * @return Sheet, or null if the watcher is not running or has not seen the sheet yet
+     */
+    static SheetData current(String sheetName) {
+        Entry entry = CURRENT.get(sheetName);
+        return entry == null ? null : entry.sheet;
+    }
+
+    /**
+     * Records a freshly decoded sheet so later calls are served from memory
+     *
+     * @param sheetName Sheet name
+     * @param file      File the sheet was decoded from
+     * @param sheet     Decoded sheet
+     */
+    static void publish(String sheetName, Path file, SheetData sheet) {
+        if (watchService != null) {
+            CURRENT.putIfAbsent(sheetName, new Entry(file, sheet));
+        }
+    }
+
+    private static void watch(WatchService service, Path directory) {
+        try {
+            while (true) {
+                Set<Path> changed = new HashSet<>();
+                boolean overflow = collect(service.take(), directory, changed);
+
+                // Editors save in several steps; wait until the directory is quiet
+                WatchKey key;
+                while ((key = service.poll(QUIET_PERIOD_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collect(key, directory, changed);
+                }
+                try {
+                    reload(changed, overflow);
+                } catch (ClosedWatchServiceException e) {
+                    throw e;
+                } catch (RuntimeException e) {
+                    logger.error("Failed to handle test data changes, watcher keeps running", e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // Stopped
+        }
+    }
+
+    /**
+     * Adds the files reported by a watch key to the changed set
+     *
+     * @return true if events were lost and every sheet must be checked
+     */
+    private static boolean collect(WatchKey key, Path directory, Set<Path> changed) {
+        boolean overflow = false;
+        try {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    overflow = true;
+                    continue;
+                }
+                try {
+                    Path file = directory.resolve((Path) event.context());
+                    changed.add(file);
+
+                    // A new snapshot changes how the workbook is decoded
+                    Path workbook = ExcelDataProvider.getTestDataPath();
+                    if (file.equals(TestDataSnapshot.snapshotPathFor(workbook))) {
+                        changed.add(workbook);
+                    }
+                } catch (RuntimeException e) {
+                    // Check every sheet instead of losing the change
+                    logger.warn("Cannot handle change of {}: {}", event.context(), e.getMessage());
+                    overflow = true;
+                }
+            }
+        } finally {
+            // Without a reset the key stops reporting changes
+            key.reset();
+        }
+        return overflow;
+    }
+
+    private static void reload(Set<Path> changed, boolean all) {
+        for (Map.Entry<String, Entry> current : CURRENT.entrySet()) {
+            try {
+                reload(current.getKey(), current.getValue(), changed, all);
+            } catch (RuntimeException e) {
+                logger.error("Failed to reload sheet '{}', watcher keeps running", current.getKey(), e);
+            }
+        }
+    }
+
+    private static void reload(String sheetName, Entry current, Set<Path> changed, boolean all) {
+        Path file = ExcelDataProvider.resolveFile(sheetName);
+        if (!all && !changed.contains(file) && !changed.contains(current.file)) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            SheetData sheet = ExcelDataProvider.decodeSheet(file, sheetName);
+            CURRENT.put(sheetName, new Entry(file, sheet));
+            logger.info("Reloaded sheet '{}' from {} in {} ms", sheetName, file.getFileName(),
+                    (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            if (file.equals(current.file) && Files.exists(file)) {
+                logger.warn("Keeping previous data for sheet '{}': {}", sheetName, e.getMessage());
+            } else {
+                // The backing file is gone; let the next call report the error
+                CURRENT.remove(sheetName);
+            }
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.selenium.test.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * TestMatrix expands parameter domains into data provider rows.
+ * Rows are DataRows, the same row Maps that sheet-based data providers return.
+ *
+ * Modes:
+ * 1. cartesian(): every combination of values
+ * 2. pairwise(): every pair of values of any two parameters appears in some row
+ * 3. nWise(n): every combination of values of any n parameters appears in some row
+ *
+ * Rows are generated lazily as TestNG consumes them, so large matrices are never
+ * held in memory. Covering rows are chosen greedily (each row covers as many
+ * uncovered combinations as possible) and deterministically, so runs are repeatable
+ * and every agent sees the same rows; data provider iterators return only the rows
+ * of this JVM's shard (see TestDataShard).
+ *
+ * Example:
+ * TestMatrix.empty()
+ *         .with("username", "standard_user", "locked_out_user", "problem_user")
+ *         .with("password", "secret_sauce", "wrongpass", "")
+ *         .with("browser", "chrome", "firefox")
+ *         .derive("testCase", row -> row.get("username") + " / " + row.get("password"))
+ *         .derive("expectedResult", row -> "secret_sauce".equals(row.get("password")) ? "success" : "error")
+ *         .pairwise();
+ */
+public final class TestMatrix {
+    private static final TestMatrix EMPTY = new TestMatrix(Collections.emptyMap(), Collections.emptyMap());
+
+    private final Map<String, List<String>> domains;
+    private final Map<String, Function<DataRow, String>> derived;
+
+    private TestMatrix(Map<String, List<String>> domains, Map<String, Function<DataRow, String>> derived) {
+        this.domains = Collections.unmodifiableMap(domains);
+        this.derived = Collections.unmodifiableMap(derived);
+    }
+
+    /**
+     * Gets a matrix without parameters
+     *
+     * @return Empty matrix
+     */
+    public static TestMatrix empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Reads parameter domains from a sheet: every column is a parameter and its
+     * non-empty cells are the values, e.g. a "LoginMatrix" sheet with a username
+     * column and a password column of different lengths
+     *
+     * @param sheetName Sheet declaring the domains
+     * @return Matrix over the columns of the sheet
+     */
+    public static TestMatrix fromSheet(String sheetName) {
+        SheetData sheet = ExcelDataProvider.getSheet(sheetName);
+        TestMatrix matrix = EMPTY;
+        for (String column : sheet.getHeaders()) {
+            Set<String> values = new LinkedHashSet<>();
+            for (DataRow row : sheet.getRows()) {
+                String value = row.get(column);
+                if (value != null && !value.isEmpty()) {
+                    values.add(value);
+                }
+            }
+            matrix = matrix.with(column, new ArrayList<>(values));
+        }
+        return matrix;
+    }
+
+    /**
+     * Returns a copy of this matrix with one more parameter
+     *
+     * @param parameter Column name
+     * @param values    Values of the parameter
+     * @return New matrix
+     */
+    public TestMatrix with(String parameter, String... values) {
+        return with(parameter, Arrays.asList(values));
+    }
+
+    /**
+     * Returns a copy of this matrix with one more parameter
+     *
+     * @param parameter Column name
+     * @param values    Values of the parameter
+     * @return New matrix
+     * @throws IllegalArgumentException if values is empty
+     */
+    public TestMatrix with(String parameter, List<String> values) {
+        if (values.isEmpty()) {
+            throw new IllegalArgumentException("Parameter '" + parameter + "' has no values");
+        }
+        Map<String, List<String>> copy = new LinkedHashMap<>(domains);
+        copy.put(parameter, Collections.unmodifiableList(new ArrayList<>(values)));
+        return new TestMatrix(copy, derived);
+    }
+
+    /**
+     * Returns a copy of this matrix with a column computed from each generated row,
+     * e.g. a test case name or the expected result
+     *
+     * @param column   Column name
+     * @param function Computes the value from the parameter values of the row
+     * @return New matrix
+     */
+    public TestMatrix derive(String column, Function<DataRow, String> function) {
+        Map<String, Function<DataRow, String>> copy = new LinkedHashMap<>(derived);
+        copy.put(column, function);
+        return new TestMatrix(domains, copy);
+    }
+
+    /**
+     * Gets all combinations of parameter values
+     *
+     * @return Iterator of single-element arrays containing a row Map
+     */
+    public Iterator<Object[]> cartesian() {
+        return nWise(Math.max(1, domains.size()));
+    }
+
+    /**
+     * Gets rows covering every pair of parameter values
+     *
+     * @return Iterator of single-element arrays containing a row Map
+     */
+    public Iterator<Object[]> pairwise() {
+        return nWise(2);
+    }
+
+    /**
+     * Gets rows covering every combination of values of any strength parameters
+     *
+     * @param strength Number of parameters whose combinations must be covered
+     * @return Iterator of single-element arrays containing a row Map
+     */
+    public Iterator<Object[]> nWise(int strength) {
+        Iterator<DataRow> rows = rows(strength);
+        TestDataShard shard = TestDataShard.current();
+        return ExcelDataProvider.toDataProviderIterator(shard.isAll() ? rows : new ShardIterator(rows, shard));
+    }
+
+    /**
+     * Gets the generated rows; strength at least the number of parameters gives the cartesian product
+     *
+     * @param strength Number of parameters whose combinations must be covered
+     * @return Lazily generated rows
+     * @throws IllegalArgumentException if strength is less than 1
+     */
+    public Iterator<DataRow> rows(int strength) {
+        if (strength < 1) {
+            throw new IllegalArgumentException("Strength must be at least 1: " + strength);
+        }
+        String[][] values = new String[domains.size()][];
+        int i = 0;
+        for (List<String> domain : domains.values()) {
+            values[i++] = domain.toArray(new String[0]);
+        }
+        Iterator<int[]> indexes = strength >= values.length
+                ? new CartesianIterator(values) : new CoveringIterator(values, strength);
+        return new RowIterator(indexes, values);
+    }
+
+    /**
+     * Turns value indexes into DataRows and appends the derived columns
+     */
+    private final class RowIterator implements Iterator<DataRow> {
+        private final Iterator<int[]> indexes;
+        private final String[][] values;
+        private final RowSchema parameterSchema;
+        private final RowSchema schema;
+
+        private RowIterator(Iterator<int[]> indexes, String[][] values) {
+            this.indexes = indexes;
+            this.values = values;
+            this.parameterSchema = new RowSchema(new ArrayList<>(domains.keySet()));
+            List<String> headers = new ArrayList<>(domains.keySet());
+            headers.addAll(derived.keySet());
+            this.schema = new RowSchema(headers);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return indexes.hasNext();
+        }
+
+        @Override
+        public DataRow next() {
+            int[] row = indexes.next();
+            String[] parameters = new String[row.length];
+            for (int column = 0; column < row.length; column++) {
+                parameters[column] = values[column][row[column]];
+            }
+            if (derived.isEmpty()) {
+                return parameterSchema.newRow(parameters);
+            }
+
+            DataRow parameterRow = parameterSchema.newRow(parameters);
+            String[] full = Arrays.copyOf(parameters, parameters.length + derived.size());
+            int column = parameters.length;
+            for (Function<DataRow, String> function : derived.values()) {
+                full[column++] = function.apply(parameterRow);
+            }
+            return schema.newRow(full);
+        }
+    }
+
+    /**
+     * Skips the rows owned by other shards
+     */
+    private static final class ShardIterator implements Iterator<DataRow> {
+        private final Iterator<DataRow> rows;
+        private final TestDataShard shard;
+        private DataRow next;
+
+        private ShardIterator(Iterator<DataRow> rows, TestDataShard shard) {
+            this.rows = rows;
+            this.shard = shard;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && rows.hasNext()) {
+                DataRow row = rows.next();
+                if (shard.owns(row)) {
+                    next = row;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public DataRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            DataRow row = next;
+            next = null;
+            return row;
+        }
+    }
+
+    /**
+     * Counts through all combinations like a mixed-radix number
+     */
+    private static final class CartesianIterator implements Iterator<int[]> {
+        private final String[][] values;
+        private int[] next;
+
+        private CartesianIterator(String[][] values) {
+            this.values = values;
+            this.next = values.length == 0 ? null : new int[values.length];
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public int[] next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            int[] current = next.clone();
+            int column = next.length - 1;
+            while (column >= 0 && ++next[column] == values[column].length) {
+                next[column--] = 0;
+            }
+            if (column < 0) {
+                next = null;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Builds a covering array row by row.
+     * For every group of strength columns a bit set records which value combinations
+     * are still uncovered. Each row starts from the first uncovered combination and
+     * fills the other columns with the value that covers the most uncovered combinations.
+     * Memory is proportional to the number of combinations, not to the full matrix.
+     */
+    private static final class CoveringIterator implements Iterator<int[]> {
+        private final String[][] values;
+        private final int[][] groups;
+        private final BitSet[] uncovered;
+        private long remaining;
+
+        private CoveringIterator(String[][] values, int strength) {
+            this.values = values;
+            List<int[]> combinations = new ArrayList<>();
+            collectGroups(new int[strength], 0, 0, values.length, combinations);
+            this.groups = combinations.toArray(new int[0][]);
+            this.uncovered = new BitSet[groups.length];
+            for (int g = 0; g < groups.length; g++) {
+                int size = 1;
+                for (int column : groups[g]) {
+                    size = Math.multiplyExact(size, values[column].length);
+                }
+                uncovered[g] = new BitSet(size);
+                uncovered[g].set(0, size);
+                remaining += size;
+            }
+        }
+
+        private static void collectGroups(int[] group, int position, int start, int columns, List<int[]> result) {
+            if (position == group.length) {
+                result.add(group.clone());
+                return;
+            }
+            for (int column = start; column < columns; column++) {
+                group[position] = column;
+                collectGroups(group, position + 1, column + 1, columns, result);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int[] next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            int[] row = new int[values.length];
+            Arrays.fill(row, -1);
+
+            // Seed the row with the first uncovered combination so every row makes progress
+            for (int g = 0; g < groups.length; g++) {
+                int combination = uncovered[g].nextSetBit(0);
+                if (combination >= 0) {
+                    decode(groups[g], combination, row);
+                    break;
+                }
+            }
+
+            for (int column = 0; column < row.length; column++) {
+                if (row[column] < 0) {
+                    row[column] = bestValue(row, column);
+                }
+            }
+
+            for (int g = 0; g < groups.length; g++) {
+                int combination = encode(groups[g], row);
+                if (uncovered[g].get(combination)) {
+                    uncovered[g].clear(combination);
+                    remaining--;
+                }
+            }
+            return row;
+        }
+
+        /**
+         * Picks the value of a column that completes the most uncovered combinations
+         * with the columns already filled in; ties go to the lowest value index
+         */
+        private int bestValue(int[] row, int column) {
+            int best = 0;
+            int bestGain = -1;
+            for (int value = 0; value < values[column].length; value++) {
+                row[column] = value;
+                int gain = 0;
+                for (int g = 0; g < groups.length; g++) {
+                    if (contains(groups[g], column) && isFilled(groups[g], row)
+                            && uncovered[g].get(encode(groups[g], row))) {
+                        gain++;
+                    }
+                }
+                if (gain > bestGain) {
+                    best = value;
+                    bestGain = gain;
+                }
+            }
+            row[column] = -1;
+            return best;
+        }
+
+        private static boolean contains(int[] group, int column) {
+            for (int member : group) {
+                if (member == column) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private static boolean isFilled(int[] group, int[] row) {
+            for (int column : group) {
+                if (row[column] < 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int encode(int[] group, int[] row) {
+            int combination = 0;
+            for (int column : group) {
+                combination = combination * values[column].length + row[column];
+            }
+            return combination;
+        }
+
+        private void decode(int[] group, int combination, int[] row) {
+            for (int i = group.length - 1; i >= 0; i--) {
+                int size = values[group[i]].length;
+                row[group[i]] = combination % size;
+                combination /= size;
+            }
+        }
+    }
+}
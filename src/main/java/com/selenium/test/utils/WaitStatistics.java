@@ -0,0 +1,219 @@
+package com.selenium.test.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * WaitStatistics records how long each wait condition actually took.
+ * Conditions are named by page and condition, e.g. "CartPage.visible", so timeouts
+ * and poll intervals can be tuned per page from measured latencies (see AdaptiveWait).
+ *
+ * Each condition keeps a log-linear histogram: exact up to 16 ms, then 8 buckets per
+ * power of two (at most 12.5% above the recorded value) up to 2^21 ms, about 35 minutes.
+ * Longer waits are counted in the last bucket. Recording is lock-free, so parallel
+ * test threads do not contend.
+ */
+public final class WaitStatistics {
+    private static final Logger logger = LoggerFactory.getLogger(WaitStatistics.class);
+    private static final Map<String, Histogram> HISTOGRAMS = new ConcurrentHashMap<>();
+
+    private WaitStatistics() {
+    }
+
+    /**
+     * Latency histogram of one condition
+     */
+    public static final class Histogram {
+        private static final int LINEAR_BUCKETS = 8;
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int MAX_EXPONENT = 20;
+        static final int BUCKETS = LINEAR_BUCKETS + (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * LINEAR_BUCKETS;
+
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        private final LongAdder count = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalMillis = new LongAdder();
+        private final LongAdder polls = new LongAdder();
+
+        private Histogram() {
+        }
+
+        private void record(long millis, int pollCount, boolean satisfied) {
+            buckets.incrementAndGet(bucketOf(millis));
+            count.increment();
+            totalMillis.add(millis);
+            polls.add(pollCount);
+            if (!satisfied) {
+                timeouts.increment();
+            }
+        }
+
+        static int bucketOf(long millis) {
+            if (millis < LINEAR_BUCKETS) {
+                return (int) Math.max(0, millis);
+            }
+            int exponent = Math.min(63 - Long.numberOfLeadingZeros(millis), MAX_EXPONENT);
+            if (exponent == MAX_EXPONENT && millis >= 2L << MAX_EXPONENT) {
+                return BUCKETS - 1;
+            }
+            int subBucket = (int) (millis >>> (exponent - SUB_BUCKET_BITS)) & (LINEAR_BUCKETS - 1);
+            return LINEAR_BUCKETS + (exponent - SUB_BUCKET_BITS) * LINEAR_BUCKETS + subBucket;
+        }
+
+        /**
+         * Gets the highest value counted in a bucket
+         */
+        static long upperBoundOf(int bucket) {
+            if (bucket < LINEAR_BUCKETS) {
+                return bucket;
+            }
+            int exponent = (bucket - LINEAR_BUCKETS) / LINEAR_BUCKETS + SUB_BUCKET_BITS;
+            int subBucket = (bucket - LINEAR_BUCKETS) % LINEAR_BUCKETS;
+            long width = 1L << (exponent - SUB_BUCKET_BITS);
+            return (1L << exponent) + (subBucket + 1) * width - 1;
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        /**
+         * Gets the mean wait time
+         *
+         * @return Mean in milliseconds, 0 if nothing was recorded
+         */
+        public long getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : totalMillis.sum() / n;
+        }
+
+        /**
+         * Gets the mean number of times the condition was evaluated per wait
+         *
+         * @return Mean polls per wait, 0 if nothing was recorded
+         */
+        public double getMeanPolls() {
+            long n = count.sum();
+            return n == 0 ? 0 : (double) polls.sum() / n;
+        }
+
+        /**
+         * Gets a percentile of the wait time, rounded up to the histogram resolution
+         *
+         * @param percentile Percentile between 0 and 100, e.g. 99
+         * @return Wait time in milliseconds, 0 if nothing was recorded
+         */
+        public long percentileMillis(double percentile) {
+            long n = count.sum();
+            if (n == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * n));
+            long seen = 0;
+            for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                seen += buckets.get(bucket);
+                if (seen >= rank) {
+                    return upperBoundOf(bucket);
+                }
+            }
+            return upperBoundOf(BUCKETS - 1);
+        }
+    }
+
+    /**
+     * Records one wait
+     *
+     * @param condition Condition name, e.g. "CartPage.visible"
+     * @param millis    Time until the condition was met or the wait timed out
+     * @param polls     Number of times the condition was evaluated
+     * @param satisfied false if the wait timed out
+     */
+    public static void record(String condition, long millis, int polls, boolean satisfied) {
+        HISTOGRAMS.computeIfAbsent(condition, name -> new Histogram()).record(millis, polls, satisfied);
+    }
+
+    /**
+     * Gets the histogram of a condition
+     *
+     * @param condition Condition name
+     * @return Histogram, or null if the condition was never recorded
+     */
+    public static Histogram get(String condition) {
+        return HISTOGRAMS.get(condition);
+    }
+
+    /**
+     * Gets the histograms of all conditions
+     *
+     * @return Histograms sorted by condition name
+     */
+    public static Map<String, Histogram> snapshot() {
+        return new TreeMap<>(HISTOGRAMS);
+    }
+
+    /**
+     * Forgets all recorded waits
+     */
+    public static void reset() {
+        HISTOGRAMS.clear();
+    }
+
+    /**
+     * Logs a summary line per condition
+     */
+    public static void logSummary() {
+        Map<String, Histogram> histograms = snapshot();
+        if (histograms.isEmpty()) {
+            return;
+        }
+        logger.info("Wait latencies (ms): condition, waits, timeouts, mean, p50, p90, p99, max, polls/wait");
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Histogram histogram = entry.getValue();
+            logger.info(String.format(Locale.ROOT, "%s: %d, %d, %d, %d, %d, %d, %d, %.1f", entry.getKey(),
+                    histogram.getCount(), histogram.getTimeouts(), histogram.getMeanMillis(),
+                    histogram.percentileMillis(50), histogram.percentileMillis(90), histogram.percentileMillis(99),
+                    histogram.percentileMillis(100), histogram.getMeanPolls()));
+        }
+    }
+
+    /**
+     * Writes the statistics as CSV, one line per condition
+     *
+     * @param file File to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void writeCsv(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("condition,waits,timeouts,meanMillis,p50Millis,p90Millis,p99Millis,maxMillis,meanPolls");
+            writer.newLine();
+            for (Map.Entry<String, Histogram> entry : snapshot().entrySet()) {
+                Histogram histogram = entry.getValue();
+                writer.write(String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%d,%d,%.2f", entry.getKey(),
+                        histogram.getCount(), histogram.getTimeouts(), histogram.getMeanMillis(),
+                        histogram.percentileMillis(50), histogram.percentileMillis(90),
+                        histogram.percentileMillis(99), histogram.percentileMillis(100), histogram.getMeanPolls()));
+                writer.newLine();
+            }
+        }
+    }
+}
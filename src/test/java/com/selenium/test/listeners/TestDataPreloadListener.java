@@ -0,0 +1,44 @@
+package com.selenium.test.listeners;
+
+import com.selenium.test.utils.ExcelDataProvider;
+import com.selenium.test.utils.IdentityPool;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * TestDataPreloadListener decodes test data sheets when a suite starts,
+ * so data providers read from the cache instead of parsing during execution.
+ *
+ * Sheets are taken from the suite parameter "preloadSheets" in testng.xml
+ * (comma separated). Without the parameter all available sheets are preloaded.
+ *
+ * For long-running JVMs that execute suites repeatedly, set the suite parameter
+ * "watchTestData" or the system property testdata.watch to true: sheets then stay
+ * in memory between runs and edited test data files are reloaded in the background.
+ *
+ * The identity pool used by registration tests is filled here as well.
+ */
+public class TestDataPreloadListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        if (Boolean.getBoolean("testdata.watch") || Boolean.parseBoolean(suite.getParameter("watchTestData"))) {
+            ExcelDataProvider.watchTestData();
+        }
+
+        List<String> sheetNames = new ArrayList<>();
+        String configured = suite.getParameter("preloadSheets");
+        if (configured != null) {
+            for (String name : configured.split(",")) {
+                if (!name.trim().isEmpty()) {
+                    sheetNames.add(name.trim());
+                }
+            }
+        }
+        ExcelDataProvider.preloadSheets(sheetNames);
+        IdentityPool.shared();
+    }
+}
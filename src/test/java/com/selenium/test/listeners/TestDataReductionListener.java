@@ -0,0 +1,38 @@
+package com.selenium.test.listeners;
+
+import com.selenium.test.utils.TestDataReduction;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * TestDataReductionListener sets the data provider run mode of this JVM from testng.xml.
+ *
+ * Suite parameters:
+ * 1. testDataMode: full (every row) or minimal (one row per equivalence class)
+ * 2. testDataKeys: comma separated columns defining the classes (optional, default expectedResult)
+ *
+ * Without these parameters the testdata.mode/testdata.keys system properties apply.
+ * Periodic full runs are controlled by testdata.fullRunEvery (see TestDataReduction).
+ */
+public class TestDataReductionListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        String mode = suite.getParameter("testDataMode");
+        if (mode == null) {
+            return;
+        }
+        if (TestDataReduction.parseMode(mode) == TestDataReduction.Mode.FULL) {
+            TestDataReduction.configure(TestDataReduction.FULL);
+            return;
+        }
+        String keys = suite.getParameter("testDataKeys");
+        TestDataReduction.configure(keys == null ? TestDataReduction.minimal()
+                : TestDataReduction.minimal(TestDataReduction.splitColumns(keys)));
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TestDataReduction.configure(null);
+    }
+}
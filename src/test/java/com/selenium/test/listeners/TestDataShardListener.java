@@ -0,0 +1,36 @@
+package com.selenium.test.listeners;
+
+import com.selenium.test.utils.TestDataShard;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * TestDataShardListener sets the data provider shard of this JVM from testng.xml.
+ *
+ * Suite parameters:
+ * 1. shardIndex: zero-based index of this agent
+ * 2. shardCount: number of agents
+ * 3. shardKey: column used to assign rows (optional, default testCase)
+ *
+ * Without these parameters the shard.index/shard.count system properties apply.
+ * shardIndex and shardCount must be set together; the suite fails otherwise.
+ */
+public class TestDataShardListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        TestDataShard shard = TestDataShard.parse(suite.getParameter("shardIndex"), suite.getParameter("shardCount"),
+                suite.getParameter("shardKey"), "shardIndex", "shardCount");
+        if (shard != null) {
+            TestDataShard.configure(shard);
+        } else {
+            // Fail before any test runs if the shard.* system properties are incomplete
+            TestDataShard.current();
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TestDataShard.configure(null);
+    }
+}
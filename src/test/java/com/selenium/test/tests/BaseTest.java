@@ -1,26 +1,85 @@
 package com.selenium.test.tests;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
+import com.selenium.test.pages.LoginPage;
+import com.selenium.test.utils.DriverBinaryResolver;
+import com.selenium.test.utils.DriverPool;
+import com.selenium.test.utils.WaitStatistics;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.firefox.FirefoxDriver;
+import org.testng.ITestContext;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
 import org.testng.annotations.Optional;
 import org.testng.annotations.Parameters;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 
 /**
  * BaseTest provides common test functionality:
- * 1. WebDriver setup and cleanup
+ * 1. WebDriver setup and cleanup through a shared DriverPool
  * 2. Browser configuration
  * 3. Common test utilities
+ * 4. Authenticated sessions without the login form (loginAs)
+ * 5. Wait latency summary after the suite (written as CSV to -Dwaits.statistics.file if set)
+ *
+ * Drivers are held per thread so test methods and data provider rows
+ * can run in parallel (see parallel and data-provider-thread-count in testng.xml).
+ * The pool is sized for the most sessions the suite can lease at once (see sizeDriverPool).
+ * Tests must access the driver through getDriver().
  */
 public class BaseTest {
-    protected WebDriver driver;
+    private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+    private final ThreadLocal<DriverPool> driverPool = new ThreadLocal<>();
     protected static final String BASE_URL = "https://www.saucedemo.com";
 
     /**
-     * Sets up WebDriver before each test method.
+     * Resolves the driver binary once before any worker thread starts a browser
+     *
+     * @param browser Browser to run tests on (chrome/firefox)
+     */
+    @BeforeSuite(alwaysRun = true)
+    @Parameters({ "browser" })
+    public void warmUpDriverBinary(@Optional("chrome") String browser) {
+        DriverBinaryResolver.resolve(browser);
+    }
+
+    /**
+     * Sizes the driver pool for the most sessions the suite can lease at once.
+     * Every test method thread can run a parallel data provider, and each of those
+     * fans its rows out to its own data-provider-thread-count threads, so up to
+     * thread-count x data-provider-thread-count rows hold a browser at the same time
+     * (thread-count + data-provider-thread-count with a shared data provider pool).
+     * A smaller driver.pool.size would leave rows blocked on a lease, so it fails the suite.
+     *
+     * @param context Suite context
+     */
+    @BeforeSuite(alwaysRun = true)
+    public void sizeDriverPool(ITestContext context) {
+        int sessions = maxConcurrentSessions(context.getSuite().getXmlSuite());
+        Integer configured = Integer.getInteger("driver.pool.size");
+        if (configured == null) {
+            DriverPool.setDefaultSize(sessions);
+        } else if (configured < sessions) {
+            throw new IllegalStateException("driver.pool.size=" + configured + " is smaller than the " + sessions
+                    + " sessions the suite can lease at once; raise it or lower thread-count"
+                    + " and data-provider-thread-count");
+        }
+    }
+
+    private static int maxConcurrentSessions(XmlSuite suite) {
+        int methodThreads = suite.getParallel() == null || !suite.getParallel().isParallel()
+                ? 1 : Math.max(1, suite.getThreadCount());
+        int rowThreads = Math.max(1, suite.getDataProviderThreadCount());
+        return suite.isShareThreadPoolForDataProviders()
+                ? methodThreads + rowThreads : methodThreads * rowThreads;
+    }
+
+    /**
+     * Leases a WebDriver from the pool before each test method.
      * Supports multiple browsers through TestNG parameters.
      * 
      * @param browser Browser to run tests on (chrome/firefox)
@@ -28,41 +87,77 @@ public class BaseTest {
     @BeforeMethod
     @Parameters({ "browser" })
     public void setUp(@Optional("chrome") String browser) {
-        // Setup WebDriver based on browser parameter
-        switch (browser.toLowerCase()) {
-            case "firefox":
-                WebDriverManager.firefoxdriver().setup();
-                driver = new FirefoxDriver();
-                break;
-            case "chrome":
-            default:
-                WebDriverManager.chromedriver().setup();
-                org.openqa.selenium.chrome.ChromeOptions options = new org.openqa.selenium.chrome.ChromeOptions();
-                options.addArguments("--remote-allow-origins=*");
-                driver = new ChromeDriver(options);
-                break;
+        DriverPool pool = DriverPool.forBrowser(browser);
+        driverPool.set(pool);
+        driver.set(pool.lease());
+    }
+
+    /**
+     * Returns the WebDriver to the pool after each test method
+     */
+    @AfterMethod(alwaysRun = true)
+    public void tearDown() {
+        WebDriver current = driver.get();
+        if (current != null) {
+            driverPool.get().release(current);
         }
+        driver.remove();
+        driverPool.remove();
+    }
 
-        // Maximize window and set implicit wait
-        driver.manage().window().maximize();
+    /**
+     * Quits all pooled browser sessions after the suite
+     */
+    @AfterSuite(alwaysRun = true)
+    public void shutdownDriverPool() {
+        DriverPool.shutdownAll();
     }
 
     /**
-     * Cleans up WebDriver after each test method
+     * Logs how long page waits took, so timeouts and polling can be tuned per page
      */
-    @AfterMethod
-    public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+    @AfterSuite(alwaysRun = true)
+    public void reportWaitStatistics() {
+        WaitStatistics.logSummary();
+        String file = System.getProperty("waits.statistics.file");
+        if (file != null) {
+            try {
+                WaitStatistics.writeCsv(Paths.get(file));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write wait statistics to " + file, e);
+            }
         }
     }
 
     /**
-     * Gets current WebDriver instance
+     * Opens a page as a logged-in user. Tests that are not about the login form should
+     * use this instead of LoginPage.login: after the first form login of a user in this
+     * pooled browser, the captured session is restored directly (see LoginPage.loginWithSession).
+     *
+     * @param username   Username to log in with
+     * @param password   Password to log in with
+     * @param targetPath Page to open, e.g. "/inventory.html"
+     */
+    protected void loginAs(String username, String password, String targetPath) {
+        new LoginPage(getDriver()).loginWithSession(username, password, targetPath);
+    }
+
+    /**
+     * Opens the application under test (BASE_URL, the login page) and waits until
+     * its document has loaded
+     *
+     * @return true if the page loaded within the page's default timeout
+     */
+    protected boolean openApplication() {
+        return new LoginPage(getDriver()).navigateTo(BASE_URL);
+    }
+
+    /**
+     * Gets the WebDriver instance leased by the current thread
      * 
      * @return WebDriver instance
      */
     protected WebDriver getDriver() {
-        return driver;
+        return driver.get();
     }
 }
\ No newline at end of file
@@ -25,7 +25,7 @@ public class CheckoutTest extends BaseTest {
      *
      * @return Object array with test data
      */
-    @DataProvider(name = "checkoutTestData")
+    @DataProvider(name = "checkoutTestData", parallel = true)
     public Object[][] getCheckoutTestData() {
         try {
             logger.info("Loading checkout test data from Excel");
@@ -62,23 +62,21 @@ public class CheckoutTest extends BaseTest {
         try {
             // Step 1: Navigate to the application
             logger.info("Step 1: Navigating to application");
-            navigateToApplication();
+            assertTrue(openApplication(), "Application should load");
             
             // Step 2: Try to access checkout directly without logging in
             logger.info("Step 2: Attempting to access checkout without login");
-            InventoryPage inventoryPage = new InventoryPage(driver);
+            InventoryPage inventoryPage = new InventoryPage(getDriver());
+            // Returns once the redirect or checkout page has loaded
             inventoryPage.accessCheckoutDirectly();
 
-            // Wait a moment for page load/redirect
-            Thread.sleep(2000);
-
             // Step 3: Verify error handling and redirection
             logger.info("Step 3: Verifying error message or redirect");
-            CartPage cartPage = new CartPage(driver);
-            LoginPage loginPage = new LoginPage(driver);
+            CartPage cartPage = new CartPage(getDriver());
+            LoginPage loginPage = new LoginPage(getDriver());
 
             // Get current URL to verify redirect
-            String currentUrl = driver.getCurrentUrl();
+            String currentUrl = getDriver().getCurrentUrl();
             logger.info("Current URL after checkout attempt: " + currentUrl);
 
             // Assertion 1: Verify that checkout cannot proceed without a username
@@ -133,19 +131,17 @@ public class CheckoutTest extends BaseTest {
         try {
             // Step 1: Navigate to application
             logger.info("Step 1: Navigating to application");
-            navigateToApplication();
+            assertTrue(openApplication(), "Application should load");
 
             // Step 2: Access checkout directly without adding items to cart
             logger.info("Step 2: Accessing checkout directly without adding items");
-            InventoryPage inventoryPage = new InventoryPage(driver);
+            InventoryPage inventoryPage = new InventoryPage(getDriver());
             inventoryPage.accessCheckoutDirectly();
 
-            Thread.sleep(2000);
-
             // Step 3: Verify redirection
             logger.info("Step 3: Verifying redirection");
-            LoginPage loginPage = new LoginPage(driver);
-            String currentUrl = driver.getCurrentUrl();
+            LoginPage loginPage = new LoginPage(getDriver());
+            String currentUrl = getDriver().getCurrentUrl();
 
             // Assertion: Verify user is redirected to login
             assertTrue(currentUrl.toLowerCase().contains("login") || loginPage.isLoginPageDisplayed(),
@@ -171,27 +167,25 @@ public class CheckoutTest extends BaseTest {
         logger.info("========== Test: Cart Preservation on Checkout without Login ==========");
 
         try {
-            // Step 1: Navigate and login
-            logger.info("Step 1: Navigating and setting up test environment");
-            navigateToApplication();
+            // Step 1: Log in; the session is restored if this browser logged in before
+            logger.info("Step 1: Logging in and opening the inventory");
+            loginAs("standard_user", "secret_sauce", "/inventory.html");
 
             // Step 2: Logout to simulate no active session
             logger.info("Step 2: Logging out to simulate no active session");
-            InventoryPage inventoryPage = new InventoryPage(driver);
+            InventoryPage inventoryPage = new InventoryPage(getDriver());
             if (inventoryPage.isUserLoggedIn()) {
-                inventoryPage.logout();
-                Thread.sleep(2000);
+                assertTrue(inventoryPage.logout(), "Logout should complete before accessing checkout");
             }
 
             // Step 3: Try to access checkout
             logger.info("Step 3: Accessing checkout without session");
             inventoryPage.accessCheckoutDirectly();
-            Thread.sleep(2000);
 
             // Step 4: Verify redirection and session validation
             logger.info("Step 4: Verifying session validation");
-            LoginPage loginPage = new LoginPage(driver);
-            String currentUrl = driver.getCurrentUrl();
+            LoginPage loginPage = new LoginPage(getDriver());
+            String currentUrl = getDriver().getCurrentUrl();
 
             // Assertion: Verify redirect to login
             assertTrue(currentUrl.toLowerCase().contains("login") || loginPage.isLoginPageDisplayed(),
@@ -206,19 +200,4 @@ public class CheckoutTest extends BaseTest {
             logger.info("========== Test: Cart Preservation COMPLETED ==========\n");
         }
     }
-
-    /**
-     * Helper method to navigate to the application
-     * This method should be implemented in BaseTest or called from there
-     */
-    private void navigateToApplication() {
-        try {
-            String baseUrl = "http://localhost:8080"; // Update with your actual application URL
-            logger.info("Navigating to: " + baseUrl);
-            driver.navigate().to(baseUrl);
-            Thread.sleep(1000);
-        } catch (Exception e) {
-            logger.error("Failed to navigate to application: " + e.getMessage());
-        }
-    }
 }
@@ -24,8 +24,7 @@ import java.util.Map;
  */
 public class LoginTest extends BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(LoginTest.class);
-    private LoginPage loginPage;
-    private WebDriverWait wait;
+    private final ThreadLocal<LoginPage> currentLoginPage = new ThreadLocal<>();
 
     /**
      * Validates that all required fields are present in the test data
@@ -51,12 +50,16 @@ public class LoginTest extends BaseTest {
      * 3. Non-technical users can modify test data
      * 4. Support for large number of test cases
      * 
-     * @return Object array containing test data maps
+     * Rows run in parallel (data-provider-thread-count in testng.xml). The Login sheet
+     * is small and preloaded, so it is served from the cache; a sheet too large to hold
+     * in memory should use a sequential provider with ExcelDataProvider.getTestDataIterator.
+     *
+     * @return Array of test data maps
      */
-    @DataProvider(name = "loginTestData")
+    @DataProvider(name = "loginTestData", parallel = true)
     public Object[][] getLoginTestData() {
         // Get test data from Excel sheet named "Login"
-        // Returns array of Maps, each containing a test case
+        // Each row contains a Map with test case data
         return ExcelDataProvider.getTestData("Login");
     }
 
@@ -90,11 +93,12 @@ public class LoginTest extends BaseTest {
             logger.info("Executing login test case: {}", testCase);
 
             // Initialize wait and page objects
-            wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            loginPage = new LoginPage(driver);
+            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(10));
+            LoginPage loginPage = new LoginPage(getDriver());
+            currentLoginPage.set(loginPage);
 
             // Navigate to login page
-            driver.get(BASE_URL);
+            getDriver().get(BASE_URL);
             wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("user-name")));
 
             // Perform login
@@ -149,11 +153,12 @@ public class LoginTest extends BaseTest {
             logger.info("Executing field validation for test case: {}", testCase);
 
             // Initialize wait and page objects
-            wait = new WebDriverWait(driver, Duration.ofSeconds(10));
-            loginPage = new LoginPage(driver);
+            WebDriverWait wait = new WebDriverWait(getDriver(), Duration.ofSeconds(10));
+            LoginPage loginPage = new LoginPage(getDriver());
+            currentLoginPage.set(loginPage);
 
             // Navigate to the login page
-            driver.get(BASE_URL);
+            getDriver().get(BASE_URL);
             wait.until(ExpectedConditions.visibilityOfElementLocated(By.id("user-name")));
 
             // Test individual field inputs
@@ -188,10 +193,12 @@ public class LoginTest extends BaseTest {
      */
     @AfterMethod
     public void cleanupTest() {
+        LoginPage page = currentLoginPage.get();
+        currentLoginPage.remove();
         try {
-            if (driver != null && loginPage != null && loginPage.isLoggedIn()) {
+            if (getDriver() != null && page != null && page.isLoggedIn()) {
                 logger.info("Performing test cleanup - logging out");
-                loginPage.logout();
+                page.logout();
             }
         } catch (Exception e) {
             logger.warn("Cleanup encountered an error: {}", e.getMessage());
@@ -3,7 +3,8 @@ package com.selenium.test.tests;
 import com.selenium.test.pages.RegisterPage;
 import org.testng.Assert;
 import org.testng.annotations.Test;
-import com.selenium.test.utils.TestDataGenerator;
+import com.selenium.test.utils.Identity;
+import com.selenium.test.utils.IdentityPool;
 
 /**
  * RegisterTest class contains test methods for the registration functionality.
@@ -18,22 +19,21 @@ public class RegisterTest extends BaseTest {
     /**
      * Tests the basic registration flow with valid data
      * This test:
-     * 1. Generates random test data
+     * 1. Leases a pre-generated identity
      * 2. Performs registration
      * 3. Verifies successful registration
      */
     @Test
     public void testSuccessfulRegistration() {
-        // Generate random test data
-        String username = TestDataGenerator.generateUsername();
-        String password = TestDataGenerator.generatePassword();
+        // Lease unique test data generated ahead of time
+        Identity identity = IdentityPool.shared().lease();
 
         // Initialize RegisterPage object
-        driver.get(BASE_URL + "/register.html");
-        RegisterPage registerPage = new RegisterPage(driver);
+        getDriver().get(BASE_URL + "/register.html");
+        RegisterPage registerPage = new RegisterPage(getDriver());
 
         // Perform registration
-        registerPage.register(username, password);
+        registerPage.register(identity);
 
         // Verify registration success
         Assert.assertFalse(registerPage.isOnRegisterPage(),
@@ -48,12 +48,12 @@ public class RegisterTest extends BaseTest {
      */
     @Test
     public void testNavigationToLogin() {
-        driver.get(BASE_URL + "/register.html");
-        RegisterPage registerPage = new RegisterPage(driver);
+        getDriver().get(BASE_URL + "/register.html");
+        RegisterPage registerPage = new RegisterPage(getDriver());
 
         // Click login link and verify navigation
         registerPage.clickLoginLink();
-        Assert.assertTrue(driver.getCurrentUrl().endsWith("/login.html"),
+        Assert.assertTrue(getDriver().getCurrentUrl().endsWith("/login.html"),
                 "Should navigate to login page");
     }
 
@@ -65,8 +65,8 @@ public class RegisterTest extends BaseTest {
      */
     @Test
     public void testInvalidRegistration() {
-        driver.get(BASE_URL + "/register.html");
-        RegisterPage registerPage = new RegisterPage(driver);
+        getDriver().get(BASE_URL + "/register.html");
+        RegisterPage registerPage = new RegisterPage(getDriver());
 
         // Try to register with empty fields
         registerPage.register("", "");
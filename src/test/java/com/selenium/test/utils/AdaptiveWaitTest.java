@@ -0,0 +1,66 @@
+package com.selenium.test.utils;
+
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.TimeoutException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polling and recording tests for AdaptiveWait; conditions do not use the driver
+ */
+public class AdaptiveWaitTest {
+
+    @Test
+    public void returnsTheValueAndRecordsThePolls() {
+        AdaptiveWait wait = new AdaptiveWait(null, "AdaptiveWaitTest", Duration.ofSeconds(5), 1, 4, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        String value = wait.until("third", d -> calls.incrementAndGet() == 3 ? "ready" : null, Duration.ofSeconds(5));
+
+        Assert.assertEquals(value, "ready");
+        WaitStatistics.Histogram histogram = WaitStatistics.get("AdaptiveWaitTest.third");
+        Assert.assertEquals(histogram.getCount(), 1);
+        Assert.assertEquals(histogram.getTimeouts(), 0);
+        Assert.assertEquals(histogram.getMeanPolls(), 3.0);
+    }
+
+    @Test
+    public void notFoundMeansNotYet() {
+        AdaptiveWait wait = new AdaptiveWait(null, "AdaptiveWaitTest", Duration.ofSeconds(5), 1, 4, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        Boolean value = wait.until("notFound", d -> {
+            if (calls.incrementAndGet() < 2) {
+                throw new NoSuchElementException("not rendered yet");
+            }
+            return true;
+        }, Duration.ofSeconds(5));
+
+        Assert.assertTrue(value);
+    }
+
+    @Test
+    public void timeoutIsRecordedAndThrown() {
+        AdaptiveWait wait = new AdaptiveWait(null, "AdaptiveWaitTest", Duration.ofSeconds(5), 1, 4, 2);
+        long start = System.nanoTime();
+
+        Assert.assertThrows(TimeoutException.class,
+                () -> wait.until("never", d -> false, Duration.ofMillis(100)));
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        Assert.assertTrue(elapsedMillis >= 100, "Returned after " + elapsedMillis + " ms");
+        WaitStatistics.Histogram histogram = WaitStatistics.get("AdaptiveWaitTest.never");
+        Assert.assertEquals(histogram.getTimeouts(), 1);
+        // Intervals 1, 2, 4, 4, ... ms: far more polls than a fixed 250 ms interval, far fewer than busy polling
+        Assert.assertTrue(histogram.getMeanPolls() > 5 && histogram.getMeanPolls() < 100,
+                "Polls " + histogram.getMeanPolls());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsShrinkingIntervals() {
+        new AdaptiveWait(null, "AdaptiveWaitTest", Duration.ofSeconds(1), 10, 250, 0.5);
+    }
+}
@@ -0,0 +1,139 @@
+package com.selenium.test.utils;
+
+import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Micro-benchmark for cell conversion in ExcelDataProvider.
+ * Compares the previous conversion (new DataFormatter per numeric cell,
+ * date detection per cell) with CellConverter on an in-memory sheet of
+ * string, numeric, date and formula cells.
+ *
+ * Usage: run main from the IDE, or after mvn test-compile:
+ * java -cp target/classes:target/test-classes:&lt;dependencies&gt; com.selenium.test.utils.CellConverterBenchmark [rows]
+ */
+public class CellConverterBenchmark {
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    public static void main(String[] args) throws IOException {
+        int rowCount = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+
+        try (Workbook workbook = new XSSFWorkbook()) {
+            List<Cell> cells = createCells(workbook, rowCount);
+
+            // Every result goes into the sink and is printed, so the JIT cannot drop the measured work
+            long sink = 0;
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                sink += runLegacy(cells);
+                sink += runConverter(workbook, cells);
+            }
+
+            long legacyNanos = 0;
+            long converterNanos = 0;
+            long legacyLength = 0;
+            long converterLength = 0;
+            for (int i = 0; i < MEASURED_ROUNDS; i++) {
+                long start = System.nanoTime();
+                legacyLength += runLegacy(cells);
+                legacyNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                converterLength += runConverter(workbook, cells);
+                converterNanos += System.nanoTime() - start;
+            }
+            sink += legacyLength + converterLength;
+
+            long conversions = (long) cells.size() * MEASURED_ROUNDS;
+            System.out.printf("Cells per round: %d%n", cells.size());
+            System.out.printf("Before (legacy):  %.1f ns/cell%n", (double) legacyNanos / conversions);
+            System.out.printf("After (converter): %.1f ns/cell%n", (double) converterNanos / conversions);
+            System.out.printf("Converted characters: %d legacy, %d converter (sink %d)%n", legacyLength,
+                    converterLength, sink);
+        }
+    }
+
+    private static List<Cell> createCells(Workbook workbook, int rowCount) {
+        Sheet sheet = workbook.createSheet("Benchmark");
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+        CellStyle priceStyle = workbook.createCellStyle();
+        priceStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("0.00"));
+
+        List<Cell> cells = new ArrayList<>();
+        for (int r = 0; r < rowCount; r++) {
+            Row row = sheet.createRow(r);
+            row.createCell(0).setCellValue("user_" + (r % 100));
+            row.createCell(1).setCellValue(r);
+            Cell price = row.createCell(2);
+            price.setCellValue(r * 1.25);
+            price.setCellStyle(priceStyle);
+            Cell date = row.createCell(3);
+            date.setCellValue(45000 + (r % 365));
+            date.setCellStyle(dateStyle);
+            row.createCell(4).setCellFormula("B" + (r + 1) + "*2");
+            for (Cell cell : row) {
+                cells.add(cell);
+            }
+        }
+
+        // Save formula results like Excel does, so both variants read cached values
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+        return cells;
+    }
+
+    private static int runLegacy(List<Cell> cells) {
+        int length = 0;
+        for (Cell cell : cells) {
+            length += legacyCellValueAsString(cell).length();
+        }
+        return length;
+    }
+
+    private static int runConverter(Workbook workbook, List<Cell> cells) {
+        CellConverter converter = CellConverter.forWorkbook(workbook);
+        int length = 0;
+        for (Cell cell : cells) {
+            length += converter.toString(cell).length();
+        }
+        return length;
+    }
+
+    /**
+     * Cell conversion as implemented before CellConverter
+     */
+    private static String legacyCellValueAsString(Cell cell) {
+        if (cell == null) {
+            return "";
+        }
+
+        try {
+            switch (cell.getCellType()) {
+                case STRING:
+                    return cell.getStringCellValue().trim();
+                case NUMERIC:
+                    if (DateUtil.isCellDateFormatted(cell)) {
+                        return cell.getDateCellValue().toString();
+                    }
+                    DataFormatter formatter = new DataFormatter();
+                    return formatter.formatCellValue(cell).trim();
+                case BOOLEAN:
+                    return String.valueOf(cell.getBooleanCellValue());
+                case FORMULA:
+                    try {
+                        return String.valueOf(cell.getNumericCellValue());
+                    } catch (IllegalStateException e) {
+                        return cell.getStringCellValue();
+                    }
+                default:
+                    return "";
+            }
+        } catch (Exception e) {
+            return "";
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.selenium.test.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parser tests for CsvDataSource (RFC 4180 records, one sheet per file)
+ */
+public class CsvDataSourceTest {
+
+    @Test
+    public void quotedFieldsKeepCommasQuotesAndLineBreaks() throws IOException {
+        List<DataRow> rows = read("testCase,username,expectedResult\r\n"
+                + "\"Comma, inside\",standard_user,success\r\n"
+                + "\"Say \"\"hi\"\"\",problem_user,success\r\n"
+                + "\"Line one\nline two\",locked_out_user,\"Error:\r\nlocked\"\r\n").getRows();
+
+        Assert.assertEquals(rows.size(), 3);
+        Assert.assertEquals(rows.get(0).get("testCase"), "Comma, inside");
+        Assert.assertEquals(rows.get(1).get("testCase"), "Say \"hi\"");
+        Assert.assertEquals(rows.get(2).get("testCase"), "Line one\nline two");
+        Assert.assertEquals(rows.get(2).get("expectedResult"), "Error:\r\nlocked");
+    }
+
+    @Test
+    public void acceptsEveryLineEnding() throws IOException {
+        SheetData sheet = read("a,b\n1,2\r\n3,4\r5,6");
+
+        Assert.assertEquals(sheet.size(), 3);
+        Assert.assertEquals(sheet.getRows().get(1).get("a"), "3");
+        Assert.assertEquals(sheet.getRows().get(2).get("b"), "6");
+    }
+
+    @Test
+    public void trimsLikeWorkbookCells() throws IOException {
+        SheetData sheet = read("\uFEFF username , password\n  admin ,\" secret \"\n");
+
+        Assert.assertEquals(sheet.getHeaders(), Arrays.asList("username", "password"));
+        Assert.assertEquals(sheet.getRows().get(0).get("username"), "admin");
+        Assert.assertEquals(sheet.getRows().get(0).get("password"), "secret");
+    }
+
+    @Test
+    public void padsShortRecordsAndIgnoresExtraFields() throws IOException {
+        List<DataRow> rows = read("a,b,c\n1\n1,2,3,4\n").getRows();
+
+        Assert.assertEquals(rows.get(0).get("b"), "");
+        Assert.assertEquals(rows.get(0).get("c"), "");
+        Assert.assertEquals(rows.get(1).get("c"), "3");
+        Assert.assertEquals(rows.get(1).size(), 3);
+    }
+
+    @Test
+    public void skipsBlankLines() throws IOException {
+        Assert.assertEquals(read("a\n\n1\n\r\n2\n\n").size(), 2);
+    }
+
+    @Test
+    public void emptyFileIsEmptySheet() throws IOException {
+        SheetData sheet = read("");
+
+        Assert.assertTrue(sheet.getHeaders().isEmpty());
+        Assert.assertEquals(sheet.size(), 0);
+    }
+
+    @Test
+    public void headerOnlyFileHasNoRows() throws IOException {
+        SheetData sheet = read("a,b\n");
+
+        Assert.assertEquals(sheet.getHeaders(), Arrays.asList("a", "b"));
+        Assert.assertEquals(sheet.size(), 0);
+    }
+
+    @Test
+    public void readsAcrossBufferBoundaries() throws IOException {
+        StringBuilder csv = new StringBuilder("id,text\n");
+        String text = "\"quoted, with\nnewline\"";
+        for (int i = 0; i < 5000; i++) {
+            csv.append(i).append(',').append(text).append('\n');
+        }
+        List<DataRow> rows = read(csv.toString()).getRows();
+
+        Assert.assertEquals(rows.size(), 5000);
+        Assert.assertEquals(rows.get(4999).get("id"), "4999");
+        Assert.assertEquals(rows.get(4999).get("text"), "quoted, with\nnewline");
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = ".*line 2.*")
+    public void rejectsUnterminatedQuotes() throws IOException {
+        read("a,b\n\"open,1\n2,3\n");
+    }
+
+    private static SheetData read(String content) throws IOException {
+        Path file = Files.createTempFile("Sheet", ".csv");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return new CsvDataSource().loadSheets(file, "Sheet").get("Sheet");
+    }
+}
@@ -0,0 +1,81 @@
+package com.selenium.test.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Reproducibility tests for IdentityGenerator stripes and IdentityPool
+ */
+public class IdentityGeneratorTest {
+
+    @Test
+    public void sameSeedAndIndexReproduceTheSameSequence() {
+        List<Identity> first = generate(new IdentityGenerator(42L, "run"), 3, 100);
+        List<Identity> second = generate(new IdentityGenerator(42L, "run"), 3, 100);
+
+        Assert.assertEquals(toLines(second), toLines(first));
+    }
+
+    @Test
+    public void stripeDoesNotDependOnTheCallingThread() {
+        IdentityGenerator generator = new IdentityGenerator(42L, "run");
+        // Another thread first, so any arrival-order numbering would shift the values
+        List<Identity> other = CompletableFuture.supplyAsync(() -> generate(generator, 1, 50)).join();
+        List<Identity> current = generate(generator, 0, 50);
+
+        Assert.assertEquals(toLines(current), toLines(generate(new IdentityGenerator(42L, "run"), 0, 50)));
+        Assert.assertEquals(toLines(other), toLines(generate(new IdentityGenerator(42L, "run"), 1, 50)));
+    }
+
+    @Test
+    public void differentSeedsChangePasswords() {
+        List<Identity> first = generate(new IdentityGenerator(1L, "run"), 0, 20);
+        List<Identity> second = generate(new IdentityGenerator(2L, "run"), 0, 20);
+
+        Assert.assertNotEquals(toLines(second), toLines(first));
+    }
+
+    @Test
+    public void stripesNeverShareUsernames() {
+        IdentityGenerator generator = new IdentityGenerator(42L, "run");
+        Set<String> usernames = new HashSet<>();
+        for (int index = 0; index < 40; index++) {
+            for (Identity identity : generate(generator, index, 40)) {
+                Assert.assertTrue(usernames.add(identity.getUsername()), "Duplicate " + identity.getUsername());
+            }
+        }
+    }
+
+    @Test
+    public void poolLeasesInGenerationOrder() {
+        IdentityPool pool = new IdentityPool(16, new IdentityGenerator(42L, "run").stripe(0),
+                Collections.emptyList(), null);
+        // Stays above a quarter of the pool, so no background refill races the leases
+        List<Identity> expected = generate(new IdentityGenerator(42L, "run"), 0, 12);
+
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(TestDataGenerator.toIdentityLine(pool.lease()),
+                    TestDataGenerator.toIdentityLine(expected.get(i)), "Identity " + i);
+        }
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsNegativeStripeIndex() {
+        new IdentityGenerator(42L, "run").stripe(-1);
+    }
+
+    private static List<Identity> generate(IdentityGenerator generator, int index, int count) {
+        return TestDataGenerator.generateIdentities(generator.stripe(index), count);
+    }
+
+    private static List<String> toLines(List<Identity> identities) {
+        return identities.stream().map(TestDataGenerator::toIdentityLine).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,97 @@
+package com.selenium.test.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Parser tests for JsonLinesDataSource (one flat JSON object per line)
+ */
+public class JsonLinesDataSourceTest {
+
+    @Test
+    public void unescapesStrings() throws IOException {
+        DataRow row = read("{\"text\": \"quote \\\" backslash \\\\ slash \\/ tab \\t newline \\n \\u00e9\"}")
+                .getRows().get(0);
+
+        Assert.assertEquals(row.get("text"), "quote \" backslash \\ slash / tab \t newline \n \u00e9");
+    }
+
+    @Test
+    public void keepsCommasAndBracesInsideStrings() throws IOException {
+        DataRow row = read("{\"a\": \"x, {y}: [z]\", \"b\": \"\"}").getRows().get(0);
+
+        Assert.assertEquals(row.get("a"), "x, {y}: [z]");
+        Assert.assertEquals(row.get("b"), "");
+    }
+
+    @Test
+    public void literalsKeepTheirTextAndNullIsEmpty() throws IOException {
+        DataRow row = read("{\"count\": 3, \"price\": -1.5e2, \"active\": true, \"note\": null}").getRows().get(0);
+
+        Assert.assertEquals(row.get("count"), "3");
+        Assert.assertEquals(row.get("price"), "-1.5e2");
+        Assert.assertEquals(row.get("active"), "true");
+        Assert.assertEquals(row.get("note"), "");
+    }
+
+    @Test
+    public void firstObjectDefinesHeadersAndMissingKeysAreEmpty() throws IOException {
+        SheetData sheet = read("{\"a\": \"1\", \"b\": \"2\"}\n\n{\"b\": \"3\"}\n{}\n");
+
+        Assert.assertEquals(sheet.getHeaders(), Arrays.asList("a", "b"));
+        List<DataRow> rows = sheet.getRows();
+        Assert.assertEquals(rows.size(), 3);
+        Assert.assertEquals(rows.get(1).get("a"), "");
+        Assert.assertEquals(rows.get(1).get("b"), "3");
+        Assert.assertEquals(rows.get(2).get("b"), "");
+    }
+
+    @Test
+    public void trimsLikeWorkbookCells() throws IOException {
+        DataRow row = read("\uFEFF{\" username \": \"  admin \"}").getRows().get(0);
+
+        Assert.assertEquals(row.get("username"), "admin");
+    }
+
+    @Test
+    public void emptyFileIsEmptySheet() throws IOException {
+        SheetData sheet = read("\n   \n");
+
+        Assert.assertTrue(sheet.getHeaders().isEmpty());
+        Assert.assertEquals(sheet.size(), 0);
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Unknown column 'c' at line 2.*")
+    public void rejectsUnknownKeys() throws IOException {
+        read("{\"a\": 1}\n{\"c\": 2}");
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Nested values.*")
+    public void rejectsNestedValues() throws IOException {
+        read("{\"a\": {\"b\": 1}}");
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Unterminated string.*")
+    public void rejectsUnterminatedStrings() throws IOException {
+        read("{\"a\": \"open}");
+    }
+
+    @Test(expectedExceptions = IOException.class, expectedExceptionsMessageRegExp = "Invalid unicode escape.*")
+    public void rejectsInvalidUnicodeEscapes() throws IOException {
+        read("{\"a\": \"\\u12G4\"}");
+    }
+
+    private static SheetData read(String content) throws IOException {
+        Path file = Files.createTempFile("Sheet", ".jsonl");
+        file.toFile().deleteOnExit();
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        return new JsonLinesDataSource().loadSheets(file, "Sheet").get("Sheet");
+    }
+}
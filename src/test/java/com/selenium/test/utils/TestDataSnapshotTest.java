@@ -0,0 +1,114 @@
+package com.selenium.test.utils;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Round-trip tests for TestDataSnapshot: a workbook compiled into a snapshot
+ * must decode to the same rows as the workbook itself.
+ */
+public class TestDataSnapshotTest {
+
+    @Test
+    public void roundTripPreservesEveryCell() throws IOException {
+        Path workbook = createWorkbook();
+        Path snapshot = TestDataSnapshot.snapshotPathFor(workbook);
+        TestDataSnapshot.compile(workbook, snapshot);
+
+        SheetData expected = ExcelDataSource.readWorkbook(workbook).get("Login");
+        SheetData actual = TestDataSnapshot.readSheet(snapshot, "Login");
+
+        Assert.assertNotNull(actual);
+        Assert.assertEquals(actual.getHeaders(), expected.getHeaders());
+        Assert.assertEquals(actual.size(), expected.size());
+        for (int i = 0; i < expected.size(); i++) {
+            Assert.assertEquals(actual.getRows().get(i), expected.getRows().get(i), "Row " + i);
+        }
+    }
+
+    @Test
+    public void roundTripKeepsSpecialCharacters() throws IOException {
+        Path workbook = createWorkbook();
+        Path snapshot = TestDataSnapshot.snapshotPathFor(workbook);
+        TestDataSnapshot.compile(workbook, snapshot);
+
+        List<DataRow> rows = TestDataSnapshot.readSheet(snapshot, "Login").getRows();
+        Assert.assertEquals(rows.get(0).get("testCase"), "Comma, \"quoted\"");
+        Assert.assertEquals(rows.get(1).get("testCase"), "Line one\nline two");
+        Assert.assertEquals(rows.get(2).get("testCase"), "Ünïcödé ✓");
+        Assert.assertEquals(rows.get(2).get("password"), "");
+        // Repeated values share one string table entry but decode to equal strings
+        Assert.assertEquals(rows.get(0).get("expectedResult"), rows.get(2).get("expectedResult"));
+    }
+
+    @Test
+    public void emptySheetsDecodeWithoutRows() throws IOException {
+        Path workbook = createWorkbook();
+        Path snapshot = TestDataSnapshot.snapshotPathFor(workbook);
+        TestDataSnapshot.compile(workbook, snapshot);
+
+        SheetData headerOnly = TestDataSnapshot.readSheet(snapshot, "HeaderOnly");
+        Assert.assertEquals(headerOnly.getHeaders(), Arrays.asList("a", "b"));
+        Assert.assertEquals(headerOnly.size(), 0);
+
+        SheetData empty = TestDataSnapshot.readSheet(snapshot, "Empty");
+        Assert.assertTrue(empty.getHeaders().isEmpty());
+        Assert.assertEquals(empty.size(), 0);
+    }
+
+    @Test
+    public void missingSheetIsNull() throws IOException {
+        Path workbook = createWorkbook();
+        Path snapshot = TestDataSnapshot.snapshotPathFor(workbook);
+        TestDataSnapshot.compile(workbook, snapshot);
+
+        Assert.assertNull(TestDataSnapshot.readSheet(snapshot, "Missing"));
+        Assert.assertTrue(TestDataSnapshot.load(workbook, "Missing").isEmpty());
+    }
+
+    @Test(expectedExceptions = IOException.class)
+    public void rejectsFilesWithoutMagic() throws IOException {
+        Path file = Files.createTempFile("not-a-snapshot", ".snapshot");
+        file.toFile().deleteOnExit();
+        Files.write(file, new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+        TestDataSnapshot.readSheet(file, "Login");
+    }
+
+    private static Path createWorkbook() throws IOException {
+        Path dir = Files.createTempDirectory("snapshot-test");
+        dir.toFile().deleteOnExit();
+        Path file = dir.resolve("TestData.xlsx");
+        try (Workbook workbook = new XSSFWorkbook(); OutputStream out = Files.newOutputStream(file)) {
+            Sheet login = workbook.createSheet("Login");
+            addRow(login, 0, "testCase", "username", "password", "expectedResult");
+            addRow(login, 1, "Comma, \"quoted\"", "standard_user", "secret_sauce", "success");
+            addRow(login, 2, "Line one\nline two", "locked_out_user", "secret_sauce", "locked out");
+            addRow(login, 3, "Ünïcödé ✓", "standard_user", "", "success");
+
+            addRow(workbook.createSheet("HeaderOnly"), 0, "a", "b");
+            workbook.createSheet("Empty");
+            workbook.write(out);
+        }
+        file.toFile().deleteOnExit();
+        TestDataSnapshot.snapshotPathFor(file).toFile().deleteOnExit();
+        return file;
+    }
+
+    private static void addRow(Sheet sheet, int index, String... values) {
+        Row row = sheet.createRow(index);
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+}
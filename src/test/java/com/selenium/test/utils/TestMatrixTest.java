@@ -0,0 +1,134 @@
+package com.selenium.test.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Coverage and row count tests for TestMatrix
+ */
+public class TestMatrixTest {
+    private static final String[] PARAMETERS = {"a", "b", "c", "d"};
+
+    @Test
+    public void pairwiseCoversEveryPairOfThreeToTheFour() {
+        List<DataRow> rows = collect(threeToTheFour().rows(2));
+
+        assertCovers(rows, 2);
+        // 9 rows is optimal for 3^4 (81 combinations); the greedy construction needs one more
+        Assert.assertEquals(rows.size(), 10);
+        Assert.assertEquals(rows.size(), collect(threeToTheFour().rows(2)).size(), "Rows must be deterministic");
+    }
+
+    @Test
+    public void nWiseCoversEveryTuple() {
+        for (int strength = 1; strength <= 3; strength++) {
+            List<DataRow> rows = collect(threeToTheFour().rows(strength));
+
+            assertCovers(rows, strength);
+            Assert.assertTrue(rows.size() < 81, "Strength " + strength + " expanded to " + rows.size() + " rows");
+        }
+        Assert.assertEquals(collect(threeToTheFour().rows(1)).size(), 3);
+    }
+
+    @Test
+    public void cartesianListsEveryCombinationOnce() {
+        List<DataRow> rows = collect(threeToTheFour().rows(PARAMETERS.length));
+        Set<List<String>> distinct = new HashSet<>();
+        for (DataRow row : rows) {
+            distinct.add(values(row, PARAMETERS));
+        }
+
+        Assert.assertEquals(rows.size(), 81);
+        Assert.assertEquals(distinct.size(), 81);
+    }
+
+    @Test(timeOut = 5000)
+    public void cartesianIsGeneratedLazily() {
+        // 10^18 rows: only a lazy iterator can return the first rows
+        TestMatrix matrix = TestMatrix.empty();
+        for (int i = 0; i < 18; i++) {
+            matrix = matrix.with("p" + i, "0", "1", "2", "3", "4", "5", "6", "7", "8", "9");
+        }
+        Iterator<DataRow> rows = matrix.rows(18);
+
+        Assert.assertEquals(rows.next().get("p17"), "0");
+        Assert.assertEquals(rows.next().get("p17"), "1");
+        Assert.assertTrue(rows.hasNext());
+    }
+
+    @Test
+    public void derivedColumnsSeeTheParameterValues() {
+        DataRow row = TestMatrix.empty()
+                .with("username", "standard_user")
+                .with("password", "secret_sauce", "wrongpass")
+                .derive("testCase", r -> r.get("username") + " / " + r.get("password"))
+                .rows(2).next();
+
+        Assert.assertEquals(row.get("testCase"), "standard_user / secret_sauce");
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsEmptyDomain() {
+        TestMatrix.empty().with("a", new ArrayList<>());
+    }
+
+    @Test(expectedExceptions = IllegalArgumentException.class)
+    public void rejectsStrengthBelowOne() {
+        threeToTheFour().rows(0);
+    }
+
+    private static TestMatrix threeToTheFour() {
+        TestMatrix matrix = TestMatrix.empty();
+        for (String parameter : PARAMETERS) {
+            matrix = matrix.with(parameter, parameter + "1", parameter + "2", parameter + "3");
+        }
+        return matrix;
+    }
+
+    /**
+     * Checks that every combination of values of every strength parameters appears in some row
+     */
+    private static void assertCovers(List<DataRow> rows, int strength) {
+        List<String[]> groups = new ArrayList<>();
+        collectGroups(new String[strength], 0, 0, groups);
+        for (String[] group : groups) {
+            Set<List<String>> seen = new HashSet<>();
+            for (DataRow row : rows) {
+                seen.add(values(row, group));
+            }
+            Assert.assertEquals(seen.size(), (int) Math.pow(3, strength),
+                    "Uncovered tuples of " + String.join(",", group));
+        }
+    }
+
+    private static void collectGroups(String[] group, int position, int start, List<String[]> result) {
+        if (position == group.length) {
+            result.add(group.clone());
+            return;
+        }
+        for (int i = start; i < PARAMETERS.length; i++) {
+            group[position] = PARAMETERS[i];
+            collectGroups(group, position + 1, i + 1, result);
+        }
+    }
+
+    private static List<String> values(DataRow row, String[] columns) {
+        List<String> values = new ArrayList<>(columns.length);
+        for (String column : columns) {
+            values.add(row.get(column));
+        }
+        return values;
+    }
+
+    private static List<DataRow> collect(Iterator<DataRow> rows) {
+        List<DataRow> result = new ArrayList<>();
+        rows.forEachRemaining(result::add);
+        return result;
+    }
+}
@@ -0,0 +1,86 @@
+package com.selenium.test.utils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Bucket layout and percentile tests for WaitStatistics histograms
+ */
+public class WaitStatisticsTest {
+    private static final long MAX_TRACKED_MILLIS = (1L << 21) - 1;
+
+    @Test
+    public void smallValuesAreExact() {
+        for (long millis = 0; millis < 16; millis++) {
+            Assert.assertEquals(WaitStatistics.Histogram.upperBoundOf(WaitStatistics.Histogram.bucketOf(millis)),
+                    millis);
+        }
+    }
+
+    @Test
+    public void bucketsAreContiguous() {
+        for (int bucket = 0; bucket < WaitStatistics.Histogram.BUCKETS - 1; bucket++) {
+            long upper = WaitStatistics.Histogram.upperBoundOf(bucket);
+            Assert.assertEquals(WaitStatistics.Histogram.bucketOf(upper), bucket, "Upper bound of bucket " + bucket);
+            Assert.assertEquals(WaitStatistics.Histogram.bucketOf(upper + 1), bucket + 1,
+                    "First value after bucket " + bucket);
+        }
+    }
+
+    @Test
+    public void boundsAreWithinAnEighthOfTheValue() {
+        for (long millis = 16; millis <= MAX_TRACKED_MILLIS; millis += 1 + millis / 97) {
+            long upper = WaitStatistics.Histogram.upperBoundOf(WaitStatistics.Histogram.bucketOf(millis));
+            Assert.assertTrue(upper >= millis && upper - millis <= millis / 8, millis + " reported as " + upper);
+        }
+    }
+
+    @Test
+    public void rangeEndsAtTwoToTheTwentyOneMillis() {
+        int last = WaitStatistics.Histogram.BUCKETS - 1;
+
+        Assert.assertEquals(WaitStatistics.Histogram.upperBoundOf(last), MAX_TRACKED_MILLIS);
+        Assert.assertEquals(WaitStatistics.Histogram.bucketOf(MAX_TRACKED_MILLIS), last);
+        Assert.assertEquals(WaitStatistics.Histogram.bucketOf(MAX_TRACKED_MILLIS + 1), last);
+        Assert.assertEquals(WaitStatistics.Histogram.bucketOf(Long.MAX_VALUE), last);
+        Assert.assertEquals(WaitStatistics.Histogram.bucketOf(-5), 0);
+    }
+
+    @Test
+    public void percentilesRoundUpToTheBucketBound() {
+        String condition = "WaitStatisticsTest.percentiles";
+        for (int millis = 1; millis <= 100; millis++) {
+            WaitStatistics.record(condition, millis, 2, millis != 100);
+        }
+        WaitStatistics.Histogram histogram = WaitStatistics.get(condition);
+
+        Assert.assertEquals(histogram.getCount(), 100);
+        Assert.assertEquals(histogram.getTimeouts(), 1);
+        Assert.assertEquals(histogram.getMeanMillis(), 50);
+        Assert.assertEquals(histogram.getMeanPolls(), 2.0);
+        Assert.assertEquals(histogram.percentileMillis(0), 1);
+        Assert.assertEquals(histogram.percentileMillis(10), 10);
+        // 50 is in the bucket 48..51, 90 in 88..95, 99 and 100 in 96..103
+        Assert.assertEquals(histogram.percentileMillis(50), 51);
+        Assert.assertEquals(histogram.percentileMillis(90), 95);
+        Assert.assertEquals(histogram.percentileMillis(99), 103);
+        Assert.assertEquals(histogram.percentileMillis(100), 103);
+    }
+
+    @Test
+    public void singleWaitIsEveryPercentile() {
+        String condition = "WaitStatisticsTest.single";
+        WaitStatistics.record(condition, 1000, 1, true);
+        WaitStatistics.Histogram histogram = WaitStatistics.get(condition);
+
+        // 1000 is in the bucket 960..1023
+        Assert.assertEquals(histogram.percentileMillis(0), 1023);
+        Assert.assertEquals(histogram.percentileMillis(50), 1023);
+        Assert.assertEquals(histogram.percentileMillis(100), 1023);
+    }
+
+    @Test
+    public void unknownConditionHasNoHistogram() {
+        Assert.assertNull(WaitStatistics.get("WaitStatisticsTest.unknown"));
+    }
+}